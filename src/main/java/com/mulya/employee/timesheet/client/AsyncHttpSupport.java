@@ -0,0 +1,95 @@
+package com.mulya.employee.timesheet.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Non-blocking GET on the JDK HttpClient that fails with the same exceptions RestTemplate throws
+ * (HttpClientErrorException.NotFound, HttpServerErrorException, ResourceAccessException),
+ * so async lookups can share the blocking lookups' error mapping and circuit breaker rules.
+ */
+final class AsyncHttpSupport {
+
+    private AsyncHttpSupport() {
+    }
+
+    static CompletableFuture<ResponseEntity<byte[]>> get(HttpClient client, String url, Duration timeout) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .GET()
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrapCause(error);
+                        throw new ResourceAccessException("I/O error on GET request for \"" + url + "\": " + cause.getMessage(),
+                                cause instanceof IOException io ? io : new IOException(cause));
+                    }
+                    return toResponseEntity(response);
+                });
+    }
+
+    /**
+     * Unwraps CompletionException/ExecutionException layers added by CompletableFuture composition.
+     */
+    static RuntimeException unwrap(Throwable error) {
+        Throwable cause = unwrapCause(error);
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        return new CompletionException(cause);
+    }
+
+    private static Throwable unwrapCause(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        byte[] body = response.body();
+
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", headers, body, charsetOf(headers));
+        }
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(status, "", headers, body, charsetOf(headers));
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private static Charset charsetOf(HttpHeaders headers) {
+        MediaType contentType;
+        try {
+            contentType = headers.getContentType();
+        } catch (RuntimeException ex) {
+            return StandardCharsets.UTF_8;
+        }
+        return contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+    }
+}
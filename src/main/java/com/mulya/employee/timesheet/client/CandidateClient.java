@@ -2,8 +2,18 @@ package com.mulya.employee.timesheet.client;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.dto.PlacementTimeline;
 import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -11,16 +21,23 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class CandidateClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(CandidateClient.class);
+
     @Value("${candidate.service.url}")
     private String candidateServiceBaseUrl;
 
@@ -30,42 +47,203 @@ public class CandidateClient {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired(required = false)
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired(required = false)
+    private HttpClient asyncHttpClient;
+
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long asyncReadTimeoutMs = 5000;
+
+    @Value("${candidate.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${candidate.cache.max-size:10000}")
+    private long cacheMaxSize = 10000;
+
+    @Value("${candidate.cache.placement.ttl-seconds:1800}")
+    private long placementTtlSeconds = 1800;
+
+    @Value("${candidate.cache.placement.negative-ttl-seconds:300}")
+    private long placementNegativeTtlSeconds = 300;
+
+    @Value("${candidate.hedge.enabled:false}")
+    private boolean hedgeEnabled = false;
+
+    @Value("${candidate.hedge.percentile:0.95}")
+    private double hedgePercentile = 0.95;
+
+    @Value("${candidate.hedge.min-delay-ms:20}")
+    private long hedgeMinDelayMs = 20;
+
+    @Value("${candidate.hedge.max-delay-ms:500}")
+    private long hedgeMaxDelayMs = 500;
+
+    @Value("${candidate.hedge.budget-ratio:0.05}")
+    private double hedgeBudgetRatio = 0.05;
+
+    @Value("${candidate.hedge.max-threads:64}")
+    private int hedgeMaxThreads = 64;
+
+    private LookupCache<String, List<PlacementDetailsDto>> placementCache;
+    // Timeline per cached placement list (identity keys), so it lives exactly as long as the list
+    private final Cache<List<PlacementDetailsDto>, PlacementTimeline> timelines = Caffeine.newBuilder().weakKeys().build();
+    private DownstreamGuard guard;
+    private RequestHedger hedger;
+
+    @PostConstruct
+    void initCaches() {
+        guard = new DownstreamGuard("candidate", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        if (asyncHttpClient == null) {
+            asyncHttpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+        placementCache = new LookupCache<>("candidate.placements", cacheEnabled, cacheMaxSize,
+                Duration.ofSeconds(placementTtlSeconds), Duration.ofSeconds(placementNegativeTtlSeconds), meterRegistry);
+        hedger = new RequestHedger("candidate", hedgeEnabled, hedgePercentile, Duration.ofMillis(hedgeMinDelayMs),
+                Duration.ofMillis(hedgeMaxDelayMs), hedgeBudgetRatio, hedgeMaxThreads, meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hedger.close();
+    }
+
+    /**
+     * Fetch placements by candidate email; throws ResourceNotFoundException if none found.
+     * Both placements and "no placement" results are cached per email, the latter for a shorter TTL.
+     * While the candidate service is unavailable the last known placements are served, if any.
+     */
     public List<PlacementDetailsDto> getPlacementsByEmail(String candidateEmailId) {
-        String url = UriComponentsBuilder.fromHttpUrl(candidateServiceBaseUrl + "/placement/placements-list")
+        String key = normalizeEmail(candidateEmailId);
+        try {
+            return placementCache.get(key, this::fetchPlacementsByEmail);
+        } catch (RuntimeException ex) {
+            if (!DownstreamGuard.isUnavailable(ex)) {
+                throw ex;
+            }
+            return placementCache.getLastKnown(key).map(value -> {
+                logger.warn("Candidate service unavailable, serving last known placements for {}: {}", key, ex.getMessage());
+                return value;
+            }).orElseThrow(() -> ex);
+        }
+    }
+
+    /**
+     * Date-ordered placements for the candidate email; throws ResourceNotFoundException if none found.
+     * Built once per cached placement list.
+     */
+    public PlacementTimeline getPlacementTimeline(String candidateEmailId) {
+        return timelines.get(getPlacementsByEmail(candidateEmailId), PlacementTimeline::of);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getPlacementsByEmail(String)}: same caching, error mapping and fallback.
+     */
+    public CompletableFuture<List<PlacementDetailsDto>> getPlacementsByEmailAsync(String candidateEmailId) {
+        String key = normalizeEmail(candidateEmailId);
+        return placementCache.getAsync(key, this::fetchPlacementsByEmailAsync)
+                .exceptionally(error -> {
+                    RuntimeException cause = AsyncHttpSupport.unwrap(error);
+                    if (!DownstreamGuard.isUnavailable(cause)) {
+                        throw cause;
+                    }
+                    return placementCache.getLastKnown(key).orElseThrow(() -> cause);
+                });
+    }
+
+    public void evictPlacements(String candidateEmailId) {
+        placementCache.invalidate(normalizeEmail(candidateEmailId));
+    }
+
+    public void evictAllPlacements() {
+        placementCache.invalidateAll();
+    }
+
+    public LookupCache<String, List<PlacementDetailsDto>> getPlacementCache() {
+        return placementCache;
+    }
+
+    private String normalizeEmail(String email) {
+        return email == null ? "" : email.trim();
+    }
+
+    private UriComponents placementsUrl(String candidateEmailId) {
+        return UriComponentsBuilder.fromHttpUrl(candidateServiceBaseUrl + "/placement/placements-list")
                 .queryParam("email", candidateEmailId)
-                .toUriString();
-        System.out.println("Candidate service URL called: " + url);
+                .build();
+    }
+
+    private CompletableFuture<List<PlacementDetailsDto>> fetchPlacementsByEmailAsync(String candidateEmailId) {
+        // RestTemplate encodes URI components itself; the JDK client needs them encoded up front
+        String url = placementsUrl(candidateEmailId).encode().toUriString();
+        return guard.executeAsync(() -> AsyncHttpSupport.get(asyncHttpClient, url, Duration.ofMillis(asyncReadTimeoutMs)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        RuntimeException cause = AsyncHttpSupport.unwrap(error);
+                        if (cause instanceof HttpClientErrorException.NotFound notFound) {
+                            throw placementNotFound(notFound, candidateEmailId);
+                        }
+                        throw cause;
+                    }
+                    Map<String, Object> body;
+                    try {
+                        byte[] bytes = response.getBody();
+                        body = bytes == null || bytes.length == 0 ? null
+                                : mapper.readValue(bytes, new TypeReference<Map<String, Object>>() {});
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Malformed placement response for candidate email: " + candidateEmailId, e);
+                    }
+                    return toPlacements(body, candidateEmailId);
+                });
+    }
+
+    private List<PlacementDetailsDto> fetchPlacementsByEmail(String candidateEmailId) {
+        String url = placementsUrl(candidateEmailId).toUriString();
+        logger.debug("Candidate service URL called: {}", url);
 
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            ResponseEntity<Map<String, Object>> response = hedger.execute(() -> guard.execute(() -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+            )));
 
-            Map<String, Object> body = response.getBody();
+            return toPlacements(response.getBody(), candidateEmailId);
 
-            List<PlacementDetailsDto> placements = null;
-            if (body != null && body.containsKey("data")) {
-                Object dataObj = body.get("data");
-                placements = mapper.convertValue(dataObj, new TypeReference<List<PlacementDetailsDto>>() {});
-            }
+        } catch (HttpClientErrorException.NotFound ex) {
+            throw placementNotFound(ex, candidateEmailId);
+        }
+    }
 
-            if (placements == null || placements.isEmpty()) {
-                throw new ResourceNotFoundException("No placement details found for candidate email: " + candidateEmailId, ResourceNotFoundException.ResourceType.PLACEMENT);
-            }
+    private List<PlacementDetailsDto> toPlacements(Map<String, Object> body, String candidateEmailId) {
+        List<PlacementDetailsDto> placements = null;
+        if (body != null && body.containsKey("data")) {
+            Object dataObj = body.get("data");
+            placements = mapper.convertValue(dataObj, new TypeReference<List<PlacementDetailsDto>>() {});
+        }
 
-            return placements;
+        if (placements == null || placements.isEmpty()) {
+            throw new ResourceNotFoundException("No placement details found for candidate email: " + candidateEmailId, ResourceNotFoundException.ResourceType.PLACEMENT);
+        }
 
-        } catch (HttpClientErrorException.NotFound ex) {
-            String responseBody = ex.getResponseBodyAsString();
-            String errorMessage = extractErrorMessageFromJson(responseBody);
-            if (errorMessage == null) {
-                errorMessage = "No placement details found for candidate email: " + candidateEmailId;
-            }
-            throw new ResourceNotFoundException(errorMessage, ResourceNotFoundException.ResourceType.PLACEMENT);
+        return placements;
+    }
+
+    private ResourceNotFoundException placementNotFound(HttpClientErrorException.NotFound ex, String candidateEmailId) {
+        String responseBody = ex.getResponseBodyAsString();
+        String errorMessage = extractErrorMessageFromJson(responseBody);
+        if (errorMessage == null) {
+            errorMessage = "No placement details found for candidate email: " + candidateEmailId;
         }
+        return new ResourceNotFoundException(errorMessage, ResourceNotFoundException.ResourceType.PLACEMENT);
     }
 
     private String extractErrorMessageFromJson(String json) {
@@ -0,0 +1,73 @@
+package com.mulya.employee.timesheet.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Per-downstream bulkhead + circuit breaker around blocking remote calls.
+ * Instances are configured through resilience4j.bulkhead/circuitbreaker.instances.{name} properties;
+ * state and call counts are exported by the resilience4j actuator endpoints and metrics.
+ */
+public class DownstreamGuard {
+
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public DownstreamGuard(String name, CircuitBreakerRegistry circuitBreakerRegistry,
+                           BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        this.circuitBreaker = (circuitBreakerRegistry != null ? circuitBreakerRegistry : CircuitBreakerRegistry.ofDefaults())
+                .circuitBreaker(name);
+        this.bulkhead = (bulkheadRegistry != null ? bulkheadRegistry : BulkheadRegistry.ofDefaults())
+                .bulkhead(name);
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        Counter bulkheadRejections = Counter.builder("remote.bulkhead.rejected")
+                .tag("name", name)
+                .description("Calls rejected because the downstream bulkhead was full")
+                .register(registry);
+        Counter breakerRejections = Counter.builder("remote.circuitbreaker.rejected")
+                .tag("name", name)
+                .description("Calls rejected because the downstream circuit breaker was open")
+                .register(registry);
+        bulkhead.getEventPublisher().onCallRejected(event -> bulkheadRejections.increment());
+        circuitBreaker.getEventPublisher().onCallNotPermitted(event -> breakerRejections.increment());
+    }
+
+    public <T> T execute(Supplier<T> remoteCall) {
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, remoteCall)).get();
+    }
+
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletionStage<T>> remoteCall) {
+        return Bulkhead.decorateCompletionStage(bulkhead, CircuitBreaker.decorateCompletionStage(circuitBreaker, remoteCall))
+                .get()
+                .toCompletableFuture();
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * True when the failure means the downstream is unavailable (rejected, unreachable, 5xx)
+     * rather than a definitive answer such as "not found".
+     */
+    public static boolean isUnavailable(Throwable ex) {
+        return ex instanceof CallNotPermittedException
+                || ex instanceof BulkheadFullException
+                || ex instanceof ResourceAccessException
+                || ex instanceof HttpServerErrorException;
+    }
+}
@@ -0,0 +1,219 @@
+package com.mulya.employee.timesheet.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size-bounded (W-TinyLFU) cache for remote lookups.
+ * Successful results live for {@code ttl}; a ResourceNotFoundException thrown by the loader
+ * is remembered for {@code negativeTtl} and re-thrown on every hit until it expires.
+ * The last successful value per key is also kept for {@code staleTtl} so callers can fall back
+ * to it while the downstream service is unavailable.
+ */
+public class LookupCache<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Cache<K, CachedLookup<V>> cache;
+    private final Cache<K, V> lastKnown;
+    private final SingleFlight<K, CachedLookup<V>> loads;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public LookupCache(String name, boolean enabled, long maxSize, Duration ttl, Duration negativeTtl,
+                       MeterRegistry meterRegistry) {
+        this(name, enabled, maxSize, ttl, negativeTtl, Duration.ofHours(24), meterRegistry);
+    }
+
+    public LookupCache(String name, boolean enabled, long maxSize, Duration ttl, Duration negativeTtl,
+                       Duration staleTtl, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LookupExpiry<K, V>(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        this.loads = new SingleFlight<>(name, meterRegistry);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, invoking the loader on a miss.
+     * The loader runs on the calling thread outside the cache's locks (so a slow remote call never
+     * blocks unrelated keys); concurrent misses for the same key wait for a single loader invocation,
+     * also while the cache is disabled.
+     */
+    public V get(K key, Function<K, V> loader) {
+        CachedLookup<V> cached = enabled ? cache.getIfPresent(key) : null;
+        if (cached == null) {
+            cached = loads.execute(key, k -> load(k, loader));
+        }
+        return cached.unwrap();
+    }
+
+    private CachedLookup<V> load(K key, Function<K, V> loader) {
+        long generation = invalidations.get();
+        CachedLookup<V> loaded;
+        try {
+            loaded = CachedLookup.found(loader.apply(key));
+        } catch (ResourceNotFoundException ex) {
+            loaded = CachedLookup.notFound(ex);
+        }
+        return store(key, loaded, generation);
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}: a hit completes immediately, a miss starts the loader and
+     * stores its value (or its ResourceNotFoundException) when it completes.
+     * Concurrent misses for the same key, blocking or not, share one loader invocation.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> loader) {
+        try {
+            Optional<V> cached = getIfPresent(key);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        } catch (ResourceNotFoundException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return loads.executeAsync(key, k -> {
+            long generation = invalidations.get();
+            return loader.apply(k).handle((value, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause == null) {
+                    return store(k, CachedLookup.found(value), generation);
+                }
+                if (cause instanceof ResourceNotFoundException notFound) {
+                    return store(k, CachedLookup.notFound(notFound), generation);
+                }
+                throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+            });
+        }).thenApply(CachedLookup::unwrap);
+    }
+
+    // A result loaded across an invalidation is returned to its callers but not kept
+    private CachedLookup<V> store(K key, CachedLookup<V> loaded, long generation) {
+        if (!loaded.isNegative()) {
+            rememberLastKnown(key, loaded.value());
+        }
+        if (enabled) {
+            cache.put(key, loaded);
+            if (invalidations.get() != generation) {
+                cache.invalidate(key);
+            }
+        }
+        return loaded;
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        CachedLookup<V> cached = enabled ? cache.getIfPresent(key) : null;
+        return cached == null ? Optional.empty() : Optional.ofNullable(cached.unwrap());
+    }
+
+    public void put(K key, V value) {
+        if (enabled) {
+            cache.put(key, CachedLookup.found(value));
+        }
+        rememberLastKnown(key, value);
+    }
+
+    /**
+     * Last successfully loaded value for the key, even if its TTL has passed.
+     */
+    public Optional<V> getLastKnown(K key) {
+        return Optional.ofNullable(lastKnown.getIfPresent(key));
+    }
+
+    private void rememberLastKnown(K key, V value) {
+        if (value != null) {
+            lastKnown.put(key, value);
+        }
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record CachedLookup<V>(V value, String errorMessage, ResourceNotFoundException.ResourceType errorType) {
+
+        static <V> CachedLookup<V> found(V value) {
+            return new CachedLookup<>(value, null, null);
+        }
+
+        static <V> CachedLookup<V> notFound(ResourceNotFoundException ex) {
+            return new CachedLookup<>(null, ex.getMessage(), ex.getResourceType());
+        }
+
+        boolean isNegative() {
+            return errorType != null;
+        }
+
+        V unwrap() {
+            if (isNegative()) {
+                throw new ResourceNotFoundException(errorMessage, errorType);
+            }
+            return value;
+        }
+    }
+
+    private static final class LookupExpiry<K, V> implements Expiry<K, CachedLookup<V>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        LookupExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, CachedLookup<V> value, long currentTime) {
+            return value.isNegative() ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, CachedLookup<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, CachedLookup<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mulya.employee.timesheet.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style dispatcher: single-key lookups arriving within {@code window} (or until
+ * {@code maxBatchSize} distinct keys are queued) are sent to the batch loader as one call.
+ * Each caller's future completes with its key's value, or null if the loader did not return it.
+ */
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer queueWaitTimer;
+
+    private final Object lock = new Object();
+    private Map<K, List<Waiter<V>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize, int maxConcurrentBatches,
+                        Function<List<K>, Map<K, V>> batchLoader, MeterRegistry meterRegistry) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchLoader = batchLoader;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads(name + "-batch-timer"));
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, maxConcurrentBatches), daemonThreads(name + "-batch"));
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        this.batchSizeSummary = DistributionSummary.builder("remote.batch.size")
+                .tag("name", name)
+                .description("Distinct keys per dispatched batch")
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("remote.batch.queue.wait")
+                .tag("name", name)
+                .description("Time a lookup waited in the batch queue before dispatch")
+                .register(registry);
+    }
+
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Map<K, List<Waiter<V>>> full = null;
+        synchronized (lock) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>()).add(new Waiter<>(future, System.nanoTime()));
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<K, List<Waiter<V>>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Caller must hold the lock
+    private Map<K, List<Waiter<V>>> drain() {
+        Map<K, List<Waiter<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, List<Waiter<V>>> batch) {
+        dispatcher.execute(() -> {
+            long now = System.nanoTime();
+            batch.values().forEach(waiters -> waiters.forEach(
+                    w -> queueWaitTimer.record(now - w.enqueuedAt(), TimeUnit.NANOSECONDS)));
+            batchSizeSummary.record(batch.size());
+
+            try {
+                Map<K, V> results = batchLoader.apply(new ArrayList<>(batch.keySet()));
+                batch.forEach((key, waiters) -> {
+                    V value = results.get(key);
+                    waiters.forEach(w -> w.future().complete(value));
+                });
+            } catch (Throwable t) {
+                batch.values().forEach(waiters -> waiters.forEach(w -> w.future().completeExceptionally(t)));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        flush();
+        scheduler.shutdown();
+        dispatcher.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Waiter<V>(CompletableFuture<V> future, long enqueuedAt) {}
+}
@@ -0,0 +1,217 @@
+package com.mulya.employee.timesheet.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedged execution of idempotent remote reads: if the first attempt has not answered after the
+ * {@code percentile} latency of recent attempts (clamped to [minDelay, maxDelay]), a second
+ * attempt is sent and whichever answers first wins. Hedges are paid for from a budget that earns
+ * {@code budgetRatio} of a hedge per call, so hedging adds at most that fraction of extra load.
+ */
+public class RequestHedger implements AutoCloseable {
+
+    private static final int SAMPLE_SIZE = 512;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final double MAX_BUDGET = 10.0;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final ThreadPoolExecutor executor;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    private final Object lock = new Object();
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private int sampleCount;
+    private int nextSample;
+    private int samplesSinceRecompute;
+    private long delayNanos;
+    private double budget;
+
+    public RequestHedger(String name, boolean enabled, double percentile, Duration minDelay, Duration maxDelay,
+                         double budgetRatio, int maxThreads, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = Math.max(minDelayNanos, maxDelay.toNanos());
+        this.budgetRatio = budgetRatio;
+        this.delayNanos = maxDelayNanos;
+        this.executor = enabled
+                ? new ThreadPoolExecutor(0, Math.max(2, maxThreads), 60, TimeUnit.SECONDS,
+                        new SynchronousQueue<>(), daemonThreads(name + "-hedge"))
+                : null;
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        this.hedgesFired = Counter.builder("remote.hedge.fired")
+                .tag("name", name)
+                .description("Second attempts sent because the first exceeded the hedge delay")
+                .register(registry);
+        this.hedgesWon = Counter.builder("remote.hedge.won")
+                .tag("name", name)
+                .description("Hedged calls answered by the second attempt")
+                .register(registry);
+        this.hedgesSkipped = Counter.builder("remote.hedge.skipped")
+                .tag("name", name)
+                .description("Hedges not sent because the budget or thread pool was exhausted")
+                .register(registry);
+        Gauge.builder("remote.hedge.delay", this, hedger -> hedger.currentDelayNanos() / 1_000_000.0)
+                .tag("name", name)
+                .baseUnit("milliseconds")
+                .description("Current percentile-derived hedge delay")
+                .register(registry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        depositBudget();
+        long start = System.nanoTime();
+        CompletableFuture<T> primary = submit(call);
+        if (primary == null) {
+            return call.get();
+        }
+        primary.thenRun(() -> recordLatency(System.nanoTime() - start));
+
+        try {
+            return primary.get(currentDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Slow first attempt: hedge below
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for remote call", ex);
+        }
+
+        CompletableFuture<T> hedge = withdrawBudget() ? submit(call) : null;
+        if (hedge == null) {
+            hedgesSkipped.increment();
+            return join(primary);
+        }
+        hedgesFired.increment();
+
+        CompletableFuture<Attempt<T>> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        primary.whenComplete((value, error) -> settle(first, pending, new Attempt<>(value, error, false)));
+        hedge.whenComplete((value, error) -> settle(first, pending, new Attempt<>(value, error, true)));
+
+        Attempt<T> winner = first.join();
+        if (winner.error() != null) {
+            throw rethrow(winner.error());
+        }
+        if (winner.hedge()) {
+            hedgesWon.increment();
+        }
+        return winner.value();
+    }
+
+    public long currentDelayNanos() {
+        synchronized (lock) {
+            return delayNanos;
+        }
+    }
+
+    // A transport failure only wins if the other attempt cannot answer instead
+    private <T> void settle(CompletableFuture<Attempt<T>> first, AtomicInteger pending, Attempt<T> attempt) {
+        boolean last = pending.decrementAndGet() == 0;
+        if (attempt.error() == null || last || !DownstreamGuard.isUnavailable(unwrap(attempt.error()))) {
+            first.complete(attempt);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException ex) {
+            return null;
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (lock) {
+            samples[nextSample] = nanos;
+            nextSample = (nextSample + 1) % SAMPLE_SIZE;
+            sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+            if (sampleCount >= MIN_SAMPLES && ++samplesSinceRecompute >= RECOMPUTE_EVERY) {
+                samplesSinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, sampleCount);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile * sorted.length) - 1;
+                long observed = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+                delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, observed));
+            }
+        }
+    }
+
+    private void depositBudget() {
+        synchronized (lock) {
+            budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        }
+    }
+
+    private boolean withdrawBudget() {
+        synchronized (lock) {
+            if (budget < 1.0) {
+                return false;
+            }
+            budget -= 1.0;
+            return true;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static RuntimeException rethrow(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Attempt<T>(T value, Throwable error, boolean hedge) {}
+}
@@ -0,0 +1,96 @@
+package com.mulya.employee.timesheet.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller performs the remote call,
+ * callers arriving while it is in flight share its result or exception. Nothing is retained
+ * once the call completes, so this works independently of (and underneath) any cache.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter deduplicatedCalls;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        this.deduplicatedCalls = Counter.builder("remote.singleflight.deduplicated")
+                .tag("name", name)
+                .description("Remote calls avoided by joining an identical in-flight call")
+                .register(registry);
+    }
+
+    public V execute(K key, Function<K, V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            deduplicatedCalls.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = call.apply(key);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: callers arriving before the call's future completes
+     * share its outcome. Sync and async calls for the same key coalesce with each other.
+     */
+    public CompletableFuture<V> executeAsync(K key, Function<K, CompletableFuture<V>> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            deduplicatedCalls.increment();
+            return existing.copy();
+        }
+
+        CompletableFuture<V> started;
+        try {
+            started = call.apply(key);
+        } catch (RuntimeException | Error ex) {
+            started = CompletableFuture.failedFuture(ex);
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(error);
+            } else {
+                mine.complete(value);
+            }
+        });
+        return mine.copy();
+    }
+
+    public long deduplicatedCount() {
+        return (long) deduplicatedCalls.count();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
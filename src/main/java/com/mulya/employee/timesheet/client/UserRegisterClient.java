@@ -1,22 +1,41 @@
 package com.mulya.employee.timesheet.client;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.mulya.employee.timesheet.dto.UserDto;
 import com.mulya.employee.timesheet.dto.UserInfoDto;
 import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class UserRegisterClient {
@@ -27,18 +46,161 @@ public class UserRegisterClient {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired(required = false)
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired(required = false)
+    private HttpClient asyncHttpClient;
+
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long asyncReadTimeoutMs = 5000;
+
+    @Value("${user.register.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${user.register.cache.max-size:10000}")
+    private long cacheMaxSize = 10000;
+
+    @Value("${user.register.cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds = 60;
+
+    @Value("${user.register.cache.user-info.ttl-seconds:1800}")
+    private long userInfoTtlSeconds = 1800;
+
+    @Value("${user.register.cache.email.ttl-seconds:3600}")
+    private long emailTtlSeconds = 3600;
+
+    @Value("${user.register.cache.user.ttl-seconds:600}")
+    private long userTtlSeconds = 600;
+
+    @Value("${user.register.batch.chunk-size:50}")
+    private int batchChunkSize = 50;
+
+    @Value("${user.register.batch.enabled:true}")
+    private boolean batchEnabled = true;
+
+    @Value("${user.register.batch.window-ms:3}")
+    private long batchWindowMs = 3;
+
+    @Value("${user.register.batch.max-concurrent:4}")
+    private int batchMaxConcurrent = 4;
+
+    @Value("${user.register.batch.join-timeout-ms:10000}")
+    private long batchJoinTimeoutMs = 10000;
+
+    @Value("${user.register.hedge.enabled:false}")
+    private boolean hedgeEnabled = false;
+
+    @Value("${user.register.hedge.percentile:0.95}")
+    private double hedgePercentile = 0.95;
+
+    @Value("${user.register.hedge.min-delay-ms:20}")
+    private long hedgeMinDelayMs = 20;
+
+    @Value("${user.register.hedge.max-delay-ms:500}")
+    private long hedgeMaxDelayMs = 500;
+
+    @Value("${user.register.hedge.budget-ratio:0.05}")
+    private double hedgeBudgetRatio = 0.05;
+
+    @Value("${user.register.hedge.max-threads:64}")
+    private int hedgeMaxThreads = 64;
+
+    private LookupCache<String, List<UserInfoDto>> userInfoCache;
+    private LookupCache<String, String> emailCache;
+    private LookupCache<String, UserDto> userCache;
+    private MicroBatcher<String, UserInfoDto> userInfoBatcher;
+    // Coalesces concurrent calls for the lookups that have no cache (and so nothing else coalescing them)
+    private SingleFlight<String, List<UserDto>> roleFlight;
+    private SingleFlight<String, UserInfoDto> usernameByRoleFlight;
+    private ObjectReader userInfoListReader;
+    private ObjectReader userInfoReader;
+    private DownstreamGuard guard;
+    private RequestHedger hedger;
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRegisterClient.class);
+
+    @PostConstruct
+    void initCaches() {
+        // Same leniency as RestTemplate's Jackson converter used previously
+        userInfoListReader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, UserInfoDto.class))
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        userInfoReader = mapper.readerFor(UserInfoDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        guard = new DownstreamGuard("userRegister", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        if (asyncHttpClient == null) {
+            asyncHttpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+        hedger = new RequestHedger("userRegister", hedgeEnabled, hedgePercentile, Duration.ofMillis(hedgeMinDelayMs),
+                Duration.ofMillis(hedgeMaxDelayMs), hedgeBudgetRatio, hedgeMaxThreads, meterRegistry);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        userInfoCache = new LookupCache<>("userRegister.userInfos", cacheEnabled, cacheMaxSize,
+                Duration.ofSeconds(userInfoTtlSeconds), negativeTtl, meterRegistry);
+        emailCache = new LookupCache<>("userRegister.email", cacheEnabled, cacheMaxSize,
+                Duration.ofSeconds(emailTtlSeconds), negativeTtl, meterRegistry);
+        userCache = new LookupCache<>("userRegister.user", cacheEnabled, cacheMaxSize,
+                Duration.ofSeconds(userTtlSeconds), negativeTtl, meterRegistry);
+        roleFlight = new SingleFlight<>("userRegister.role", meterRegistry);
+        usernameByRoleFlight = new SingleFlight<>("userRegister.usernameByRole", meterRegistry);
+        if (batchEnabled) {
+            userInfoBatcher = new MicroBatcher<>("userRegister.userInfos", Duration.ofMillis(batchWindowMs),
+                    batchChunkSize, batchMaxConcurrent, this::fetchUserInfoChunk, meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (userInfoBatcher != null) {
+            userInfoBatcher.close();
+        }
+        hedger.close();
+    }
+
+    public List<LookupCache<String, ?>> getCaches() {
+        return List.of(userInfoCache, emailCache, userCache);
+    }
+
+    public void evictUser(String userId) {
+        userInfoCache.invalidate(userId);
+        emailCache.invalidate(userId);
+        userCache.invalidate(userId);
+    }
+
+    public void evictAll() {
+        getCaches().forEach(LookupCache::invalidateAll);
+    }
+
     /**
      * Fetch user by userId; throws ResourceNotFoundException if not found.
+     * Results (including "not found") are cached per userId.
+     * While the user service is unavailable the last known user is served, if any.
      */
     public UserDto getUserById(String userId) {
+        try {
+            return userCache.get(userId, this::fetchUserById);
+        } catch (RuntimeException ex) {
+            return staleOrThrow(userCache, userId, ex);
+        }
+    }
+
+    private UserDto fetchUserById(String userId) {
         String url = UriComponentsBuilder
                 .fromHttpUrl(userServiceBaseUrl + "/employee")
                 .queryParam("userId", userId)
                 .toUriString();
 
-        ResponseEntity<List<UserDto>> response = restTemplate.exchange(
+        ResponseEntity<List<UserDto>> response = hedger.execute(() -> guard.execute(() -> restTemplate.exchange(
                 url, HttpMethod.GET, null,
-                new ParameterizedTypeReference<List<UserDto>>() {});
+                new ParameterizedTypeReference<List<UserDto>>() {})));
 
         List<UserDto> users = response.getBody();
         if (users == null || users.isEmpty()) {
@@ -50,16 +212,21 @@ public class UserRegisterClient {
 
     /**
      * Fetch users by role name; throws ResourceNotFoundException if none found.
+     * Concurrent calls for the same role share one request.
      */
     public List<UserDto> getUsersByRole(String roleName) {
+        return roleFlight.execute(roleName, this::fetchUsersByRole);
+    }
+
+    private List<UserDto> fetchUsersByRole(String roleName) {
         String url = UriComponentsBuilder
                 .fromHttpUrl(userServiceBaseUrl + "/employee")
                 .queryParam("roleName", roleName)
                 .toUriString();
 
-        ResponseEntity<List<UserDto>> response = restTemplate.exchange(
+        ResponseEntity<List<UserDto>> response = guard.execute(() -> restTemplate.exchange(
                 url, HttpMethod.GET, null,
-                new ParameterizedTypeReference<List<UserDto>>() {});
+                new ParameterizedTypeReference<List<UserDto>>() {}));
 
         List<UserDto> users = response.getBody();
         if (users == null || users.isEmpty()) {
@@ -69,14 +236,22 @@ public class UserRegisterClient {
         return users;
     }
 
+    /**
+     * Fetch the user name for a userId; throws ResourceNotFoundException if not found.
+     * Concurrent calls for the same userId share one request.
+     */
     public UserInfoDto getUserRoleAndUsername(String userId) {
+        return usernameByRoleFlight.execute(userId, this::fetchUserRoleAndUsername);
+    }
+
+    private UserInfoDto fetchUserRoleAndUsername(String userId) {
         String url = userServiceBaseUrl + "/usernameByRole/" + userId;
 
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            ResponseEntity<Map<String, Object>> response = guard.execute(() -> restTemplate.exchange(
                     url, HttpMethod.GET, null,
                     new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+            ));
 
             Map<String, Object> body = response.getBody();
             if (body == null || body.isEmpty()) {
@@ -97,21 +272,237 @@ public class UserRegisterClient {
     /**
      * Fetch user info (userName) by userId(s).
      * Accepts single or multiple comma-separated userIds.
+     * Results (including "not found") are cached per requested userIds value.
+     * While the user service is unavailable the last known value is served, or "Unknown" if there is none.
      */
     public List<UserInfoDto> getUserInfos(String userIds) {
+        String key = userIds.trim();
+        try {
+            return userInfoCache.get(key, this::loadUserInfos);
+        } catch (RuntimeException ex) {
+            if (!DownstreamGuard.isUnavailable(ex)) {
+                throw ex;
+            }
+            return userInfoCache.getLastKnown(key).orElseGet(() -> unknownUserInfos(key, ex));
+        }
+    }
+
+    /**
+     * Variant of {@link #getUserInfos(String)} for paths that record the name (e.g. approvals):
+     * while the user service is unavailable the last known value is served, otherwise the failure
+     * is thrown instead of falling back to "Unknown".
+     */
+    public List<UserInfoDto> getUserInfosOrThrow(String userIds) {
+        String key = userIds.trim();
+        try {
+            return userInfoCache.get(key, this::loadUserInfos);
+        } catch (RuntimeException ex) {
+            return staleOrThrow(userInfoCache, key, ex);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getUserInfos(String)}: same caching, error mapping and fallback,
+     * without holding the calling thread while the user service answers.
+     */
+    public CompletableFuture<List<UserInfoDto>> getUserInfosAsync(String userIds) {
+        String key = userIds.trim();
+        return userInfoCache.getAsync(key, this::fetchUserInfosAsync)
+                .exceptionally(error -> {
+                    RuntimeException cause = AsyncHttpSupport.unwrap(error);
+                    if (!DownstreamGuard.isUnavailable(cause)) {
+                        throw cause;
+                    }
+                    return userInfoCache.getLastKnown(key).orElseGet(() -> unknownUserInfos(key, cause));
+                });
+    }
+
+    private List<UserInfoDto> unknownUserInfos(String userIds, RuntimeException ex) {
+        logger.warn("User service unavailable, using \"Unknown\" for userIds {}: {}", userIds, ex.getMessage());
+        UserInfoDto unknown = new UserInfoDto();
+        unknown.setUserId(userIds);
+        unknown.setUserName("Unknown");
+        return Collections.singletonList(unknown);
+    }
+
+    // Single-id misses join the cross-request micro-batch; explicit multi-id lookups go straight out
+    private List<UserInfoDto> loadUserInfos(String userIds) {
+        if (userInfoBatcher == null || userIds.contains(",")) {
+            return fetchUserInfos(userIds);
+        }
+        UserInfoDto info = joinBatch(userInfoBatcher.load(userIds));
+        if (info == null) {
+            throw new ResourceNotFoundException("No user info found for userIds: " + userIds, ResourceNotFoundException.ResourceType.USER);
+        }
+        return Collections.singletonList(info);
+    }
+
+    // Bounded so a caller queued behind slow batches gives up like a read timeout, not forever
+    private <T> T joinBatch(CompletableFuture<T> future) {
+        try {
+            return future.get(batchJoinTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ResourceAccessException("User info batch did not complete within " + batchJoinTimeoutMs + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for user info batch");
+        }
+    }
+
+    /**
+     * Resolve user info for many userIds at once, keyed by userId.
+     * Cached ids are answered locally; the rest are fetched in chunked multi-ID calls
+     * and written back to the per-id cache. Ids the user service does not know are absent from the map.
+     * While the user service is unavailable, uncached ids resolve to their last known value or stay absent.
+     */
+    public Map<String, UserInfoDto> getUserInfosByIds(Collection<String> userIds) {
+        return resolveUserInfos(userIds).found();
+    }
+
+    /**
+     * Like {@link #getUserInfosByIds}, but also reports the ids that could not be looked up
+     * (user service unavailable, nothing known), as opposed to ids the user service does not know.
+     */
+    public UserInfoResolution resolveUserInfos(Collection<String> userIds) {
+        Map<String, UserInfoDto> resolved = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null || userId.isBlank()) {
+                continue;
+            }
+            String id = userId.trim();
+            try {
+                Optional<List<UserInfoDto>> cached = userInfoCache.getIfPresent(id);
+                if (cached.isPresent()) {
+                    cached.get().stream().findFirst().ifPresent(info -> resolved.put(id, info));
+                } else {
+                    missing.add(id);
+                }
+            } catch (ResourceNotFoundException ex) {
+                // Known missing user (negative cache hit)
+            }
+        }
+
+        Map<String, UserInfoDto> fetched = new HashMap<>();
+        if (userInfoBatcher != null) {
+            Map<String, CompletableFuture<UserInfoDto>> futures = new LinkedHashMap<>();
+            missing.forEach(id -> futures.put(id, userInfoBatcher.load(id)));
+            futures.forEach((id, future) -> {
+                try {
+                    UserInfoDto info = joinBatch(future);
+                    if (info != null) fetched.put(id, info);
+                } catch (RuntimeException ex) {
+                    serveLastKnownInfo(id, ex, resolved, failed);
+                }
+            });
+        } else {
+            for (int from = 0; from < missing.size(); from += batchChunkSize) {
+                List<String> chunk = missing.subList(from, Math.min(from + batchChunkSize, missing.size()));
+                try {
+                    fetched.putAll(fetchUserInfoChunk(chunk));
+                } catch (RuntimeException ex) {
+                    chunk.forEach(id -> serveLastKnownInfo(id, ex, resolved, failed));
+                }
+            }
+        }
+
+        fetched.forEach((id, info) -> userInfoCache.put(id, Collections.singletonList(info)));
+        resolved.putAll(fetched);
+        return new UserInfoResolution(resolved, failed);
+    }
+
+    private void serveLastKnownInfo(String userId, RuntimeException ex, Map<String, UserInfoDto> resolved, Set<String> failed) {
+        if (!DownstreamGuard.isUnavailable(ex)) {
+            throw ex;
+        }
+        Optional<UserInfoDto> lastKnown = userInfoCache.getLastKnown(userId).flatMap(infos -> infos.stream().findFirst());
+        if (lastKnown.isPresent()) {
+            resolved.put(userId, lastKnown.get());
+        } else {
+            failed.add(userId);
+        }
+    }
+
+    /**
+     * User info found per userId, and the ids whose lookup failed (absent from {@code found} too).
+     */
+    public record UserInfoResolution(Map<String, UserInfoDto> found, Set<String> failed) {}
+
+    private <V> V staleOrThrow(LookupCache<String, V> cache, String key, RuntimeException ex) {
+        if (!DownstreamGuard.isUnavailable(ex)) {
+            throw ex;
+        }
+        return cache.getLastKnown(key).map(value -> {
+            logger.warn("User service unavailable, serving last known {} for {}: {}", cache.getName(), key, ex.getMessage());
+            return value;
+        }).orElseThrow(() -> ex);
+    }
+
+    private Map<String, UserInfoDto> fetchUserInfoChunk(List<String> chunk) {
+        Map<String, UserInfoDto> byId = new HashMap<>();
+        List<UserInfoDto> infos;
+        try {
+            infos = fetchUserInfos(String.join(",", chunk));
+        } catch (ResourceNotFoundException | HttpClientErrorException.NotFound ex) {
+            if (chunk.size() == 1) {
+                return byId;
+            }
+            // One unknown id must not hide the others: retry this chunk id by id
+            chunk.forEach(id -> byId.putAll(fetchUserInfoChunk(List.of(id))));
+            return byId;
+        }
+
+        // Single-id responses may be plain text; multi-id JSON rows are matched on userId,
+        // falling back to request order when the service omits it.
+        boolean positional = infos.size() == chunk.size();
+        for (int i = 0; i < infos.size(); i++) {
+            UserInfoDto info = infos.get(i);
+            String id = chunk.size() == 1 ? chunk.get(0) : info.getUserId();
+            if ((id == null || !chunk.contains(id)) && positional) {
+                id = chunk.get(i);
+            }
+            if (id != null && chunk.contains(id)) {
+                info.setUserId(id);
+                byId.put(id, info);
+            }
+        }
+        return byId;
+    }
+
+    private List<UserInfoDto> fetchUserInfos(String userIds) {
         String url = userServiceBaseUrl + "/" + userIds + "/username";
 
-        ResponseEntity<String> rawResponse = restTemplate.exchange(
-                url, HttpMethod.GET, null, String.class);
+        // Single round-trip: read the raw bytes once and decode them as JSON or plain text
+        ResponseEntity<byte[]> rawResponse = hedger.execute(() -> guard.execute(() -> restTemplate.exchange(
+                url, HttpMethod.GET, null, byte[].class)));
 
-        String body = rawResponse.getBody();
+        return parseUserInfos(decodeBody(rawResponse), userIds);
+    }
+
+    private CompletableFuture<List<UserInfoDto>> fetchUserInfosAsync(String userIds) {
+        String url = userServiceBaseUrl + "/" + userIds + "/username";
+        return guard.executeAsync(() -> AsyncHttpSupport.get(asyncHttpClient, url, Duration.ofMillis(asyncReadTimeoutMs)))
+                .thenApply(response -> parseUserInfos(decodeBody(response), userIds));
+    }
 
+    private List<UserInfoDto> parseUserInfos(String body, String userIds) {
         if (body != null && (body.trim().startsWith("[") || body.trim().startsWith("{"))) {
             // If response is JSON, parse it into List<UserInfoDto>
-            ResponseEntity<List<UserInfoDto>> jsonResponse = restTemplate.exchange(
-                    url, HttpMethod.GET, null,
-                    new ParameterizedTypeReference<List<UserInfoDto>>() {});
-            List<UserInfoDto> userInfos = jsonResponse.getBody();
+            List<UserInfoDto> userInfos;
+            try {
+                userInfos = body.trim().startsWith("[")
+                        ? userInfoListReader.readValue(body)
+                        : Collections.singletonList(userInfoReader.readValue(body));
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed user info response for userIds: " + userIds, e);
+            }
             if (userInfos == null || userInfos.isEmpty()) {
                 throw new ResourceNotFoundException("No user info found for userIds: " + userIds, ResourceNotFoundException.ResourceType.USER);
             }
@@ -127,15 +518,64 @@ public class UserRegisterClient {
         }
     }
 
+    private String decodeBody(ResponseEntity<byte[]> response) {
+        byte[] bytes = response.getBody();
+        if (bytes == null) {
+            return null;
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        return new String(bytes, charset);
+    }
+
     /**
      * Fetch email by userId.
      * Throws ResourceNotFoundException if user or email not found.
+     * Results (including "not found") are cached per userId.
+     * While the user service is unavailable the last known email is served, if any.
      */
     public String getUserEmail(String userId) {
+        try {
+            return emailCache.get(userId, this::fetchUserEmail);
+        } catch (RuntimeException ex) {
+            return staleOrThrow(emailCache, userId, ex);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getUserEmail(String)}.
+     */
+    public CompletableFuture<String> getUserEmailAsync(String userId) {
+        return emailCache.getAsync(userId, this::fetchUserEmailAsync)
+                .exceptionally(error -> staleOrThrow(emailCache, userId, AsyncHttpSupport.unwrap(error)));
+    }
+
+    private CompletableFuture<String> fetchUserEmailAsync(String userId) {
+        String url = userServiceBaseUrl + "/" + userId + "/email";
+        return guard.executeAsync(() -> AsyncHttpSupport.get(asyncHttpClient, url, Duration.ofMillis(asyncReadTimeoutMs)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        RuntimeException cause = AsyncHttpSupport.unwrap(error);
+                        if (cause instanceof HttpClientErrorException.NotFound) {
+                            throw new ResourceNotFoundException("User not found with ID: " + userId, ResourceNotFoundException.ResourceType.USER);
+                        }
+                        throw cause;
+                    }
+                    String email = decodeBody(response);
+                    if (email == null || email.isBlank()) {
+                        throw new ResourceNotFoundException("Email not found for user ID: " + userId, ResourceNotFoundException.ResourceType.USER);
+                    }
+                    return email;
+                });
+    }
+
+    private String fetchUserEmail(String userId) {
         String url = userServiceBaseUrl + "/" + userId + "/email";
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.GET, null, String.class);
+            ResponseEntity<String> response = hedger.execute(() -> guard.execute(() -> restTemplate.exchange(
+                    url, HttpMethod.GET, null, String.class)));
 
             String email = response.getBody();
             if (email == null || email.isBlank()) {
@@ -0,0 +1,80 @@
+package com.mulya.employee.timesheet.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${timesheet.enrichment.pool-size:16}")
+    private int enrichmentPoolSize;
+
+    @Value("${timesheet.enrichment.queue-capacity:500}")
+    private int enrichmentQueueCapacity;
+
+    @Value("${timesheet.monthly-summary.pool-size:4}")
+    private int summaryPoolSize;
+
+    @Value("${timesheet.employee-profile.refresh-pool-size:2}")
+    private int profileRefreshPoolSize;
+
+    @Value("${timesheet.employee-profile.refresh-queue-capacity:200}")
+    private int profileRefreshQueueCapacity;
+
+    /**
+     * Bounded pool for blocking remote lookups (user-register / candidate) fanned out per request.
+     * When saturated the calling thread runs the lookup itself instead of failing.
+     */
+    @Bean(name = "enrichmentExecutor")
+    public ThreadPoolTaskExecutor enrichmentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrichmentPoolSize);
+        executor.setMaxPoolSize(enrichmentPoolSize);
+        executor.setQueueCapacity(enrichmentQueueCapacity);
+        executor.setThreadNamePrefix("enrichment-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for the CPU-bound per-employee aggregation of the monthly summary.
+     * Kept apart from the enrichment pool so parsing never waits behind remote lookups;
+     * when saturated the calling thread aggregates the partition itself.
+     */
+    @Bean(name = "summaryExecutor")
+    public ThreadPoolTaskExecutor summaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(summaryPoolSize);
+        executor.setMaxPoolSize(summaryPoolSize);
+        executor.setQueueCapacity(summaryPoolSize * 4);
+        executor.setThreadNamePrefix("monthly-summary-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool for background profile refreshes after timesheet writes. Kept apart from the
+     * enrichment pool, whose lookups a refresh waits on; when saturated the refresh is dropped
+     * (the scheduled refresh catches up) rather than run on the request thread.
+     */
+    @Bean(name = "profileRefreshExecutor")
+    public ThreadPoolTaskExecutor profileRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(profileRefreshPoolSize);
+        executor.setMaxPoolSize(profileRefreshPoolSize);
+        executor.setQueueCapacity(profileRefreshQueueCapacity);
+        executor.setThreadNamePrefix("profile-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
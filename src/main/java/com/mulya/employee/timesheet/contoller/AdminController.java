@@ -0,0 +1,145 @@
+package com.mulya.employee.timesheet.contoller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mulya.employee.timesheet.client.CandidateClient;
+import com.mulya.employee.timesheet.client.LookupCache;
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.ApiResponse;
+import com.mulya.employee.timesheet.dto.CacheStatsDto;
+import com.mulya.employee.timesheet.dto.StorageMigrationDto;
+import com.mulya.employee.timesheet.service.EmployeeProfileService;
+import com.mulya.employee.timesheet.service.MonthlySummaryCache;
+import com.mulya.employee.timesheet.service.MonthlySummaryService;
+import com.mulya.employee.timesheet.service.RoleDirectory;
+import com.mulya.employee.timesheet.service.TimesheetEntryService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/us/timesheet/admin")
+@Tag(name = "Timesheet Admin API")
+@CrossOrigin
+public class AdminController {
+
+    @Autowired
+    private UserRegisterClient userRegisterClient;
+
+    @Autowired
+    private CandidateClient candidateClient;
+
+    @Autowired
+    private RoleDirectory roleDirectory;
+
+    @Autowired
+    private EmployeeProfileService profileService;
+
+    @Autowired
+    private TimesheetEntryService entryService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private MonthlySummaryCache monthlySummaryCache;
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsDto>>> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        userRegisterClient.getCaches().forEach(cache -> stats.add(toStatsDto(cache)));
+        stats.add(toStatsDto(candidateClient.getPlacementCache()));
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved", stats));
+    }
+
+    @DeleteMapping("/cache/placements")
+    public ResponseEntity<ApiResponse<Void>> evictPlacements(@RequestParam(required = false) String email) {
+        if (email == null || email.isBlank()) {
+            candidateClient.evictAllPlacements();
+            return ResponseEntity.ok(ApiResponse.success("All cached placements evicted", null));
+        }
+        candidateClient.evictPlacements(email);
+        return ResponseEntity.ok(ApiResponse.success("Cached placements evicted for " + email, null));
+    }
+
+    @DeleteMapping("/cache/users")
+    public ResponseEntity<ApiResponse<Void>> evictUsers(@RequestParam(required = false) String userId) {
+        if (userId == null || userId.isBlank()) {
+            userRegisterClient.evictAll();
+            return ResponseEntity.ok(ApiResponse.success("All cached users evicted", null));
+        }
+        userRegisterClient.evictUser(userId);
+        return ResponseEntity.ok(ApiResponse.success("Cached user evicted for " + userId, null));
+    }
+
+    @DeleteMapping("/cache/monthly-summaries")
+    public ResponseEntity<ApiResponse<Void>> evictMonthlySummaries() {
+        monthlySummaryCache.invalidateAll();
+        return ResponseEntity.ok(ApiResponse.success("Cached monthly summaries evicted", null));
+    }
+
+    @PostMapping("/roles/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> refreshRoles() {
+        Map<String, Integer> userCounts = roleDirectory.refreshAll();
+        return ResponseEntity.ok(ApiResponse.success("Role directory refreshed", userCounts));
+    }
+
+    @PostMapping("/profiles/refresh")
+    public ResponseEntity<ApiResponse<Integer>> refreshProfiles(@RequestParam(required = false) String userId) {
+        if (userId == null || userId.isBlank()) {
+            int refreshed = profileService.refreshStaleProfiles();
+            return ResponseEntity.ok(ApiResponse.success("Stale employee profiles refreshed", refreshed));
+        }
+        userRegisterClient.evictUser(userId);
+        int refreshed = profileService.refreshNow(List.of(userId)).size();
+        return ResponseEntity.ok(ApiResponse.success("Employee profile refreshed for " + userId, refreshed));
+    }
+
+    @PostMapping("/entries/backfill")
+    public ResponseEntity<ApiResponse<Integer>> backfillEntries(@RequestParam(required = false) String afterTimesheetId) {
+        int migrated = entryService.backfill(afterTimesheetId);
+        return ResponseEntity.ok(ApiResponse.success("Timesheet entries backfilled", migrated));
+    }
+
+    @PostMapping("/totals/backfill")
+    public ResponseEntity<ApiResponse<Integer>> backfillTotals(@RequestParam(required = false) String afterTimesheetId) {
+        int updated = entryService.backfillTotals(afterTimesheetId);
+        return ResponseEntity.ok(ApiResponse.success("Timesheet totals backfilled", updated));
+    }
+
+    @PostMapping("/entries/storage-format")
+    public ResponseEntity<ApiResponse<StorageMigrationDto>> migrateEntryStorage(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String afterTimesheetId) {
+        StorageMigrationDto result = entryService.migrateStorageFormat(format, afterTimesheetId);
+        return ResponseEntity.ok(ApiResponse.success("Timesheet entry storage migrated to " + result.getFormat(), result));
+    }
+
+    // Required after any change to the monthly aggregation rules: stored months are otherwise only rebuilt
+    // when MonthlySummaryService.RULES_VERSION is bumped
+    @PostMapping("/monthly-summaries/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildMonthlySummaries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate month) {
+        int written = monthlySummaryService.rebuild(month);
+        monthlySummaryCache.invalidateAll();
+        return ResponseEntity.ok(ApiResponse.success("Monthly summaries rebuilt", written));
+    }
+
+    private CacheStatsDto toStatsDto(LookupCache<String, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDto(
+                cache.getName(),
+                cache.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -9,6 +9,7 @@ import com.mulya.employee.timesheet.model.Timesheet;
 import com.mulya.employee.timesheet.model.TimesheetType;
 import com.mulya.employee.timesheet.repository.AttachmentRepository;
 import com.mulya.employee.timesheet.service.LeaveService;
+import com.mulya.employee.timesheet.service.RoleDirectory;
 import com.mulya.employee.timesheet.service.TimesheetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -49,6 +50,9 @@ public class TimesheetController {
     @Autowired
     private LeaveService leaveService;
 
+    @Autowired
+    private RoleDirectory roleDirectory;
+
     @PostMapping("/daily-entry")
     public ResponseEntity<ApiResponse<TimesheetSummaryDto>> saveDailyEntry(
             @RequestParam String userId,
@@ -64,7 +68,7 @@ public class TimesheetController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
         Timesheet ts = timesheetService.submitWeekly(userId, weekStart);
 
-        UserDto managerDto = userRegisterClient.getUsersByRole("ADMIN")
+        UserDto managerDto = roleDirectory.getUsersByRole("ADMIN")
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("No ADMIN manager"));
@@ -81,14 +85,12 @@ public class TimesheetController {
 
         List<Timesheet> updatedTimesheets = timesheetService.submitMonthly(userId, monthStartDate);
 
-        UserDto managerDto = userRegisterClient.getUsersByRole("ADMIN")
+        UserDto managerDto = roleDirectory.getUsersByRole("ADMIN")
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("No ADMIN manager"));
 
-        List<TimesheetApprovalDto> approvalDtos = updatedTimesheets.stream()
-                .map(ts -> timesheetService.toApprovalDto(ts, managerDto.getUserId()))
-                .collect(Collectors.toList());
+        List<TimesheetApprovalDto> approvalDtos = timesheetService.toApprovalDtos(updatedTimesheets, managerDto.getUserId());
 
         return ResponseEntity.ok(ApiResponse.success("Submitted monthly timesheets for approval", approvalDtos));
     }
@@ -114,9 +116,7 @@ public class TimesheetController {
 
         List<Timesheet> updated = timesheetService.approveMonthlyTimesheets(userId, monthStart, monthEnd, managerUserId);
 
-        List<TimesheetApprovalDto> dtos = updated.stream()
-                .map(ts -> timesheetService.toApprovalDto(ts, managerUserId))
-                .collect(Collectors.toList());
+        List<TimesheetApprovalDto> dtos = timesheetService.toApprovalDtos(updated, managerUserId);
 
         return ResponseEntity.ok(ApiResponse.success("Monthly timesheets approved", dtos));
     }
@@ -132,9 +132,7 @@ public class TimesheetController {
 
         List<Timesheet> updated = timesheetService.rejectMonthlyTimesheets(userId, monthStart, monthEnd, managerUserId, reason);
 
-        List<TimesheetApprovalDto> dtos = updated.stream()
-                .map(ts -> timesheetService.toApprovalDto(ts, managerUserId))
-                .collect(Collectors.toList());
+        List<TimesheetApprovalDto> dtos = timesheetService.toApprovalDtos(updated, managerUserId);
 
         return ResponseEntity.ok(ApiResponse.success("Monthly timesheets rejected", dtos));
     }
@@ -330,16 +328,22 @@ public class TimesheetController {
     @GetMapping("/monthly-timesheets")
     public ResponseEntity<ApiResponse<List<EmployeeMonthlyTimesheetDto>>> getAllEmployeeMonthlySummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate monthStart,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate monthEnd
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate monthEnd,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) throws Exception {
 
         LocalDate normalizedStart = monthStart.withDayOfMonth(1);
         LocalDate normalizedEnd = (monthEnd == null) ? normalizedStart.withDayOfMonth(normalizedStart.lengthOfMonth())
                 : monthEnd.withDayOfMonth(monthEnd.lengthOfMonth());
 
-        List<EmployeeMonthlyTimesheetDto> summaries = timesheetService.getAllEmployeesMonthlySummary(normalizedStart, normalizedEnd);
+        MonthlySummaryResult result = timesheetService.getMonthlySummaryResult(normalizedStart, normalizedEnd);
+        if (result.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.getEtag()).build();
+        }
 
-        return ResponseEntity.ok(ApiResponse.success("Monthly timesheet summaries fetched", summaries));
+        return ResponseEntity.ok()
+                .eTag(result.getEtag())
+                .body(ApiResponse.success("Monthly timesheet summaries fetched", result.getSummaries()));
     }
 
     @PostMapping("/leave-initialization")
@@ -0,0 +1,39 @@
+package com.mulya.employee.timesheet.dto;
+
+public class CacheStatsDto {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRatio;
+    private long evictionCount;
+
+    public CacheStatsDto() {}
+
+    public CacheStatsDto(String name, long size, long hitCount, long missCount, double hitRatio, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRatio = hitRatio;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+
+    public double getHitRatio() { return hitRatio; }
+    public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+
+    public long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(long evictionCount) { this.evictionCount = evictionCount; }
+}
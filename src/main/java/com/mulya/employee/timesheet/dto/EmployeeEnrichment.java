@@ -0,0 +1,94 @@
+package com.mulya.employee.timesheet.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Remote facts about an employee needed to render timesheet responses:
+ * display name (user-register), email (user-register) and placements (candidate service).
+ */
+public class EmployeeEnrichment {
+    private final String userId;
+    private final String employeeName;
+    private final String email;
+    private final List<PlacementDetailsDto> placements;
+    private final Lookup nameLookup;
+    private final Lookup contactLookup;
+    private volatile PlacementTimeline timeline;
+
+    /**
+     * Outcome of one remote lookup: an answer (including a definitive "not found") or a failure
+     * (outage, deadline) whose defaults must not be mistaken for facts.
+     */
+    public enum Lookup { FOUND, NOT_FOUND, FAILED }
+
+    public EmployeeEnrichment(String userId, String employeeName, String email, List<PlacementDetailsDto> placements) {
+        this(userId, employeeName, email, placements, Lookup.FOUND, Lookup.FOUND);
+    }
+
+    public EmployeeEnrichment(String userId, String employeeName, String email, List<PlacementDetailsDto> placements,
+                              Lookup nameLookup, Lookup contactLookup) {
+        this.userId = userId;
+        this.employeeName = employeeName;
+        this.email = email;
+        this.placements = placements == null ? List.of() : placements;
+        this.nameLookup = nameLookup;
+        this.contactLookup = contactLookup;
+    }
+
+    public EmployeeEnrichment(String userId, String employeeName, String email, PlacementTimeline timeline) {
+        this(userId, employeeName, email, timeline.all());
+        this.timeline = timeline;
+    }
+
+    public static EmployeeEnrichment unknown(String userId) {
+        return new EmployeeEnrichment(userId, "Unknown", null, List.of());
+    }
+
+    public String getUserId() { return userId; }
+
+    public String getEmployeeName() { return employeeName; }
+
+    public String getEmail() { return email; }
+
+    public List<PlacementDetailsDto> getPlacements() { return placements; }
+
+    public Lookup getNameLookup() { return nameLookup; }
+
+    public Lookup getContactLookup() { return contactLookup; }
+
+    /**
+     * Whether every lookup answered, so name, email and placements are facts rather than fallbacks.
+     */
+    public boolean isComplete() {
+        return nameLookup != Lookup.FAILED && contactLookup != Lookup.FAILED;
+    }
+
+    public PlacementTimeline getTimeline() {
+        PlacementTimeline result = timeline;
+        if (result == null) {
+            result = PlacementTimeline.of(placements);
+            timeline = result;
+        }
+        return result;
+    }
+
+    /**
+     * Placement in effect on the date (see {@link PlacementTimeline#placementOn}).
+     */
+    public PlacementDetailsDto getPlacementOn(LocalDate date) {
+        return getTimeline().placementOn(date);
+    }
+
+    /**
+     * Placement in effect today.
+     */
+    public PlacementDetailsDto getPrimaryPlacement() {
+        return getPlacementOn(LocalDate.now());
+    }
+
+    public boolean isFullTime() {
+        PlacementDetailsDto placement = getPrimaryPlacement();
+        return placement != null && "Full-time".equalsIgnoreCase(placement.getEmployeeType());
+    }
+}
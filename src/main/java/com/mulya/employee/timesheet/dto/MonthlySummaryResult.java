@@ -0,0 +1,45 @@
+package com.mulya.employee.timesheet.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All-employees monthly summary for one (monthStart, monthEnd) range together with its ETag,
+ * a digest of the summaries that changes only when their content does. Shared between requests
+ * while cached, so the summaries must not be modified.
+ */
+public class MonthlySummaryResult {
+    private final LocalDate monthStart;
+    private final LocalDate monthEnd;
+    private final List<EmployeeMonthlyTimesheetDto> summaries;
+    private final String etag;
+
+    public MonthlySummaryResult(LocalDate monthStart, LocalDate monthEnd, List<EmployeeMonthlyTimesheetDto> summaries, String etag) {
+        this.monthStart = monthStart;
+        this.monthEnd = monthEnd;
+        this.summaries = List.copyOf(summaries);
+        this.etag = etag;
+    }
+
+    public LocalDate getMonthStart() { return monthStart; }
+
+    public LocalDate getMonthEnd() { return monthEnd; }
+
+    public List<EmployeeMonthlyTimesheetDto> getSummaries() { return summaries; }
+
+    public String getEtag() { return etag; }
+
+    /**
+     * Whether an If-None-Match header value (a list of possibly weak tags, or *) matches this result.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
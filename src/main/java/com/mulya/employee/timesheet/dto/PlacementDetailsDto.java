@@ -8,6 +8,7 @@ import java.time.LocalDate;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PlacementDetailsDto {
     private LocalDate startDate;
+    private LocalDate endDate;
     private String clientName;
     @JsonProperty("employmentType")
     private String employeeType;
@@ -28,6 +29,13 @@ public class PlacementDetailsDto {
         this.startDate = startDate;
     }
 
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
     public String getClientName() {
         return clientName;
     }
@@ -0,0 +1,156 @@
+package com.mulya.employee.timesheet.dto;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable, date-ordered view of an employee's placements.
+ * Placements are sorted by start date and clipped so they do not overlap: a placement without an
+ * end date runs until the day before the next one starts (the last one is open-ended). When two
+ * placements start on the same day, the one listed first by the candidate service wins.
+ * Point and range lookups are binary searches over the interval bounds.
+ */
+public final class PlacementTimeline {
+
+    private static final PlacementTimeline EMPTY = new PlacementTimeline(List.of(), new LocalDate[0], new LocalDate[0], List.of());
+
+    private final List<PlacementDetailsDto> intervals;
+    private final LocalDate[] starts;
+    private final LocalDate[] ends; // inclusive
+    private final List<PlacementDetailsDto> original;
+
+    private PlacementTimeline(List<PlacementDetailsDto> intervals, LocalDate[] starts, LocalDate[] ends,
+                              List<PlacementDetailsDto> original) {
+        this.intervals = intervals;
+        this.starts = starts;
+        this.ends = ends;
+        this.original = original;
+    }
+
+    public static PlacementTimeline empty() {
+        return EMPTY;
+    }
+
+    public static PlacementTimeline of(List<PlacementDetailsDto> placements) {
+        if (placements == null || placements.isEmpty()) {
+            return EMPTY;
+        }
+        List<PlacementDetailsDto> original = List.copyOf(placements);
+
+        // Ascending start; on equal starts the earlier-listed placement sorts last so it survives clipping
+        Integer[] order = new Integer[original.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.<Integer, LocalDate>comparing(i -> startOf(original.get(i)))
+                .thenComparing(Comparator.reverseOrder()));
+
+        List<PlacementDetailsDto> intervals = new ArrayList<>();
+        List<LocalDate> starts = new ArrayList<>();
+        List<LocalDate> ends = new ArrayList<>();
+        for (int k = 0; k < order.length; k++) {
+            PlacementDetailsDto placement = original.get(order[k]);
+            LocalDate start = startOf(placement);
+            LocalDate end = placement.getEndDate() != null ? placement.getEndDate() : LocalDate.MAX;
+            if (k + 1 < order.length) {
+                LocalDate nextStart = startOf(original.get(order[k + 1]));
+                if (!nextStart.isAfter(end)) {
+                    end = nextStart.minusDays(1);
+                }
+            }
+            if (end.isBefore(start)) {
+                continue; // fully shadowed by a placement starting the same day
+            }
+            intervals.add(placement);
+            starts.add(start);
+            ends.add(end);
+        }
+        return new PlacementTimeline(List.copyOf(intervals), starts.toArray(new LocalDate[0]),
+                ends.toArray(new LocalDate[0]), original);
+    }
+
+    /**
+     * The placement active on the date, if any.
+     */
+    public Optional<PlacementDetailsDto> activeOn(LocalDate date) {
+        int i = lastStartingOnOrBefore(date);
+        return i >= 0 && !ends[i].isBefore(date) ? Optional.of(intervals.get(i)) : Optional.empty();
+    }
+
+    /**
+     * Best match for the date: the placement active on it, else the most recent one that started
+     * before it, else the earliest one. Null only when there are no placements.
+     */
+    public PlacementDetailsDto placementOn(LocalDate date) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        if (date == null) {
+            return intervals.get(intervals.size() - 1);
+        }
+        int i = lastStartingOnOrBefore(date);
+        return intervals.get(Math.max(i, 0));
+    }
+
+    /**
+     * Placements active on at least one day of [from, to], in chronological order.
+     */
+    public List<PlacementDetailsDto> overlapping(LocalDate from, LocalDate to) {
+        if (intervals.isEmpty() || to.isBefore(from)) {
+            return List.of();
+        }
+        int first = firstEndingOnOrAfter(from);
+        int last = lastStartingOnOrBefore(to);
+        return first <= last ? intervals.subList(first, last + 1) : List.of();
+    }
+
+    /**
+     * The most recent placement overlapping [from, to], or null (used to attribute a month to a client).
+     */
+    public PlacementDetailsDto latestOverlapping(LocalDate from, LocalDate to) {
+        List<PlacementDetailsDto> overlapping = overlapping(from, to);
+        return overlapping.isEmpty() ? null : overlapping.get(overlapping.size() - 1);
+    }
+
+    /**
+     * All placements in the order the candidate service returned them.
+     */
+    public List<PlacementDetailsDto> all() {
+        return original;
+    }
+
+    public boolean isEmpty() {
+        return original.isEmpty();
+    }
+
+    private int lastStartingOnOrBefore(LocalDate date) {
+        int lo = 0, hi = starts.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (!starts[mid].isAfter(date)) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // Clipped intervals do not overlap, so end dates are sorted as well
+    private int firstEndingOnOrAfter(LocalDate date) {
+        int lo = 0, hi = ends.length - 1, found = ends.length;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (!ends[mid].isBefore(date)) {
+                found = mid;
+                hi = mid - 1;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    private static LocalDate startOf(PlacementDetailsDto placement) {
+        return placement.getStartDate() != null ? placement.getStartDate() : LocalDate.MIN;
+    }
+}
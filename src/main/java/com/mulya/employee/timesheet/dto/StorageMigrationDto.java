@@ -0,0 +1,35 @@
+package com.mulya.employee.timesheet.dto;
+
+public class StorageMigrationDto {
+    private String format;
+    private long timesheetsScanned;
+    private long timesheetsConverted;
+    private long bytesBefore;
+    private long bytesAfter;
+
+    public StorageMigrationDto() {}
+
+    public StorageMigrationDto(String format) {
+        this.format = format;
+    }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public long getTimesheetsScanned() { return timesheetsScanned; }
+    public void setTimesheetsScanned(long timesheetsScanned) { this.timesheetsScanned = timesheetsScanned; }
+
+    public long getTimesheetsConverted() { return timesheetsConverted; }
+    public void setTimesheetsConverted(long timesheetsConverted) { this.timesheetsConverted = timesheetsConverted; }
+
+    // Size of the converted rows' entry columns, before and after conversion
+    public long getBytesBefore() { return bytesBefore; }
+    public void setBytesBefore(long bytesBefore) { this.bytesBefore = bytesBefore; }
+
+    public long getBytesAfter() { return bytesAfter; }
+    public void setBytesAfter(long bytesAfter) { this.bytesAfter = bytesAfter; }
+
+    public double getBytesSavedPerRow() {
+        return timesheetsConverted == 0 ? 0.0 : (double) (bytesBefore - bytesAfter) / timesheetsConverted;
+    }
+}
@@ -13,6 +13,8 @@ public class TimesheetSummaryDto {
     private LocalDate weekStartDate;
     private LocalDate weekEndDate;
     private String status;
+    private Double totalWorkingHours;
+    private Double totalLeaveHours;
 
     public String getTimesheetId() {
         return timesheetId;
@@ -76,4 +78,20 @@ public class TimesheetSummaryDto {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Double getTotalWorkingHours() {
+        return totalWorkingHours;
+    }
+
+    public void setTotalWorkingHours(Double totalWorkingHours) {
+        this.totalWorkingHours = totalWorkingHours;
+    }
+
+    public Double getTotalLeaveHours() {
+        return totalLeaveHours;
+    }
+
+    public void setTotalLeaveHours(Double totalLeaveHours) {
+        this.totalLeaveHours = totalLeaveHours;
+    }
 }
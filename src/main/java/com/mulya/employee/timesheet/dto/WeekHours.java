@@ -0,0 +1,269 @@
+package com.mulya.employee.timesheet.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable day-indexed hours of one timesheet period, kept as minute-quantized primitive arrays
+ * with separate working and leave channels. Index i is {@code start + i days}; the period covers
+ * the timesheet's week and any entry dated outside it (up to {@link #MAX_DAYS}). Several entries on
+ * the same day add up.
+ * Prefix sums make every range sum constant-time; dates outside the period contribute nothing.
+ */
+public final class WeekHours {
+
+    public static final int FULL_DAY_MINUTES = 8 * 60;
+
+    // Longest period kept; entries dated further out (bad data) are dropped instead of growing the arrays
+    static final int MAX_DAYS = 366;
+
+    private static final long NO_ENTRY = Long.MIN_VALUE;
+
+    private static final WeekHours EMPTY = new WeekHours(0L, new short[0], new short[0], NO_ENTRY, NO_ENTRY);
+
+    private final long startEpochDay;
+    private final short[] working; // minutes per day
+    private final short[] leave;   // minutes per day
+    private final int[] workingPrefix;
+    private final int[] leavePrefix;
+    private final int[] fullLeavePrefix; // days with exactly a full day (8h) of leave
+    private final long firstEntryDay;
+    private final long lastEntryDay;
+
+    private WeekHours(long startEpochDay, short[] working, short[] leave, long firstEntryDay, long lastEntryDay) {
+        this.startEpochDay = startEpochDay;
+        this.working = working;
+        this.leave = leave;
+        this.firstEntryDay = firstEntryDay;
+        this.lastEntryDay = lastEntryDay;
+        int days = working.length;
+        this.workingPrefix = new int[days + 1];
+        this.leavePrefix = new int[days + 1];
+        this.fullLeavePrefix = new int[days + 1];
+        for (int i = 0; i < days; i++) {
+            workingPrefix[i + 1] = workingPrefix[i] + working[i];
+            leavePrefix[i + 1] = leavePrefix[i] + leave[i];
+            fullLeavePrefix[i + 1] = fullLeavePrefix[i] + (leave[i] == FULL_DAY_MINUTES ? 1 : 0);
+        }
+    }
+
+    public static WeekHours empty() {
+        return EMPTY;
+    }
+
+    public static WeekHours of(LocalDate start, LocalDate end, List<TimesheetEntry> working, List<TimesheetEntry> leave) {
+        Builder builder = builder(start, end);
+        if (working != null) {
+            for (TimesheetEntry entry : working) {
+                if (entry != null && entry.getDate() != null) {
+                    builder.addWorking(entry.getDate().toEpochDay(), entry.getHours() != null ? entry.getHours() : 0.0);
+                }
+            }
+        }
+        if (leave != null) {
+            for (TimesheetEntry entry : leave) {
+                if (entry != null && entry.getDate() != null) {
+                    builder.addLeave(entry.getDate().toEpochDay(), entry.getHours() != null ? entry.getHours() : 0.0);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builder for a period starting at {@code start} and ending at {@code end} (either may be null);
+     * the period grows to cover every day added.
+     */
+    public static Builder builder(LocalDate start, LocalDate end) {
+        return new Builder(start, end);
+    }
+
+    public double workingHours(LocalDate from, LocalDate to) {
+        return rangeSum(workingPrefix, from, to) / 60.0;
+    }
+
+    public double leaveHours(LocalDate from, LocalDate to) {
+        return rangeSum(leavePrefix, from, to) / 60.0;
+    }
+
+    public int fullLeaveDays(LocalDate from, LocalDate to) {
+        return rangeSum(fullLeavePrefix, from, to);
+    }
+
+    public double totalWorkingHours() {
+        return workingPrefix[working.length] / 60.0;
+    }
+
+    public double totalLeaveHours() {
+        return leavePrefix[leave.length] / 60.0;
+    }
+
+    public int totalFullLeaveDays() {
+        return fullLeavePrefix[leave.length];
+    }
+
+    public double workingHoursOn(LocalDate day) {
+        return workingHours(day, day);
+    }
+
+    /**
+     * First day of the period, or null if it is empty.
+     */
+    public LocalDate getStart() {
+        return working.length == 0 ? null : LocalDate.ofEpochDay(startEpochDay);
+    }
+
+    /**
+     * Last day of the period, or null if it is empty.
+     */
+    public LocalDate getEnd() {
+        return working.length == 0 ? null : LocalDate.ofEpochDay(startEpochDay + working.length - 1);
+    }
+
+    /**
+     * Date of the earliest entry in either channel (including 0-hour entries), or null if there are none.
+     */
+    public LocalDate getFirstEntryDate() {
+        return firstEntryDay == NO_ENTRY ? null : LocalDate.ofEpochDay(firstEntryDay);
+    }
+
+    public LocalDate getLastEntryDate() {
+        return lastEntryDay == NO_ENTRY ? null : LocalDate.ofEpochDay(lastEntryDay);
+    }
+
+    /**
+     * One entry per day with working hours (project and description are not kept).
+     */
+    public List<TimesheetEntry> toWorkingEntries() {
+        List<TimesheetEntry> entries = new ArrayList<>();
+        for (int i = 0; i < working.length; i++) {
+            if (working[i] != 0) {
+                TimesheetEntry entry = new TimesheetEntry();
+                entry.setDate(LocalDate.ofEpochDay(startEpochDay + i));
+                entry.setHours(working[i] / 60.0);
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private int rangeSum(int[] prefix, LocalDate from, LocalDate to) {
+        long first = Math.max(from.toEpochDay() - startEpochDay, 0);
+        long last = Math.min(to.toEpochDay() - startEpochDay, working.length - 1L);
+        if (last < first) {
+            return 0;
+        }
+        return prefix[(int) last + 1] - prefix[(int) first];
+    }
+
+    static int toMinutes(double hours) {
+        return (int) Math.round(hours * 60.0);
+    }
+
+    /**
+     * Collects (epoch day, hours) pairs in primitive arrays; hours are rounded to whole minutes.
+     */
+    public static final class Builder {
+        private final LocalDate start;
+        private final LocalDate end;
+        private long[] days = new long[8];
+        private int[] minutes = new int[8];
+        private boolean[] isLeave = new boolean[8];
+        private int size;
+
+        private Builder(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public Builder addWorking(long epochDay, double hours) {
+            return add(epochDay, toMinutes(hours), false);
+        }
+
+        public Builder addLeave(long epochDay, double hours) {
+            return add(epochDay, toMinutes(hours), true);
+        }
+
+        private Builder add(long epochDay, int entryMinutes, boolean leaveEntry) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                minutes = Arrays.copyOf(minutes, size * 2);
+                isLeave = Arrays.copyOf(isLeave, size * 2);
+            }
+            days[size] = epochDay;
+            minutes[size] = entryMinutes;
+            isLeave[size] = leaveEntry;
+            size++;
+            return this;
+        }
+
+        /**
+         * Position to {@link #resetTo} to discard the days added after it.
+         */
+        public int mark() {
+            return size;
+        }
+
+        public void resetTo(int mark) {
+            size = Math.min(size, Math.max(0, mark));
+        }
+
+        public WeekHours build() {
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            if (start != null) {
+                first = start.toEpochDay();
+                last = first;
+            }
+            if (end != null) {
+                first = Math.min(first, end.toEpochDay());
+                last = Math.max(last, end.toEpochDay());
+            }
+            for (int i = 0; i < size; i++) {
+                first = Math.min(first, days[i]);
+                last = Math.max(last, days[i]);
+            }
+            if (first > last) {
+                return EMPTY;
+            }
+            if (last - first + 1 > MAX_DAYS) {
+                if (start != null || end != null) {
+                    first = start != null ? start.toEpochDay() : end.toEpochDay();
+                    last = end != null ? Math.max(first, end.toEpochDay()) : first;
+                    first = Math.min(first, last);
+                }
+                last = Math.min(last, first + MAX_DAYS - 1);
+            }
+
+            int length = (int) (last - first + 1);
+            int[] workingMinutes = new int[length];
+            int[] leaveMinutes = new int[length];
+            long firstEntry = NO_ENTRY;
+            long lastEntry = NO_ENTRY;
+            for (int i = 0; i < size; i++) {
+                if (days[i] < first || days[i] > last) {
+                    continue;
+                }
+                firstEntry = firstEntry == NO_ENTRY ? days[i] : Math.min(firstEntry, days[i]);
+                lastEntry = lastEntry == NO_ENTRY ? days[i] : Math.max(lastEntry, days[i]);
+                int index = (int) (days[i] - first);
+                if (isLeave[i]) {
+                    leaveMinutes[index] += minutes[i];
+                } else {
+                    workingMinutes[index] += minutes[i];
+                }
+            }
+            return new WeekHours(first, clamp(workingMinutes), clamp(leaveMinutes), firstEntry, lastEntry);
+        }
+
+        private static short[] clamp(int[] values) {
+            short[] clamped = new short[values.length];
+            for (int i = 0; i < values.length; i++) {
+                clamped[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, values[i]));
+            }
+            return clamped;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.mulya.employee.timesheet.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized per-employee, per-month aggregation behind the all-employees monthly summary:
+ * working and leave hours per Monday-Friday week of the month (week 1 is the week containing the
+ * 1st) and the aggregated status. Rows are rewritten whenever one of the user's timesheets in the
+ * month is saved; placement and leave-balance adjustments are applied when the summary is read.
+ */
+@Entity
+@Table(name = "employee_monthly_summary_us",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_summary_user_month", columnNames = {"user_id", "month_start"}),
+        indexes = @Index(name = "idx_monthly_summary_month", columnList = "month_start"))
+public class EmployeeMonthlySummary {
+
+    public static final int MAX_WEEKS = 6;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "month_end", nullable = false)
+    private LocalDate monthEnd;
+
+    @Column(name = "work_hours_week1", nullable = false)
+    private double workHoursWeek1;
+
+    @Column(name = "work_hours_week2", nullable = false)
+    private double workHoursWeek2;
+
+    @Column(name = "work_hours_week3", nullable = false)
+    private double workHoursWeek3;
+
+    @Column(name = "work_hours_week4", nullable = false)
+    private double workHoursWeek4;
+
+    @Column(name = "work_hours_week5", nullable = false)
+    private double workHoursWeek5;
+
+    @Column(name = "work_hours_week6", nullable = false)
+    private double workHoursWeek6;
+
+    @Column(name = "leave_hours_week1", nullable = false)
+    private double leaveHoursWeek1;
+
+    @Column(name = "leave_hours_week2", nullable = false)
+    private double leaveHoursWeek2;
+
+    @Column(name = "leave_hours_week3", nullable = false)
+    private double leaveHoursWeek3;
+
+    @Column(name = "leave_hours_week4", nullable = false)
+    private double leaveHoursWeek4;
+
+    @Column(name = "leave_hours_week5", nullable = false)
+    private double leaveHoursWeek5;
+
+    @Column(name = "leave_hours_week6", nullable = false)
+    private double leaveHoursWeek6;
+
+    @Column(nullable = false, length = 32)
+    private String status;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public LocalDate getMonthEnd() { return monthEnd; }
+    public void setMonthEnd(LocalDate monthEnd) { this.monthEnd = monthEnd; }
+
+    public double getWorkHoursWeek1() { return workHoursWeek1; }
+    public void setWorkHoursWeek1(double workHoursWeek1) { this.workHoursWeek1 = workHoursWeek1; }
+
+    public double getWorkHoursWeek2() { return workHoursWeek2; }
+    public void setWorkHoursWeek2(double workHoursWeek2) { this.workHoursWeek2 = workHoursWeek2; }
+
+    public double getWorkHoursWeek3() { return workHoursWeek3; }
+    public void setWorkHoursWeek3(double workHoursWeek3) { this.workHoursWeek3 = workHoursWeek3; }
+
+    public double getWorkHoursWeek4() { return workHoursWeek4; }
+    public void setWorkHoursWeek4(double workHoursWeek4) { this.workHoursWeek4 = workHoursWeek4; }
+
+    public double getWorkHoursWeek5() { return workHoursWeek5; }
+    public void setWorkHoursWeek5(double workHoursWeek5) { this.workHoursWeek5 = workHoursWeek5; }
+
+    public double getWorkHoursWeek6() { return workHoursWeek6; }
+    public void setWorkHoursWeek6(double workHoursWeek6) { this.workHoursWeek6 = workHoursWeek6; }
+
+    public double getLeaveHoursWeek1() { return leaveHoursWeek1; }
+    public void setLeaveHoursWeek1(double leaveHoursWeek1) { this.leaveHoursWeek1 = leaveHoursWeek1; }
+
+    public double getLeaveHoursWeek2() { return leaveHoursWeek2; }
+    public void setLeaveHoursWeek2(double leaveHoursWeek2) { this.leaveHoursWeek2 = leaveHoursWeek2; }
+
+    public double getLeaveHoursWeek3() { return leaveHoursWeek3; }
+    public void setLeaveHoursWeek3(double leaveHoursWeek3) { this.leaveHoursWeek3 = leaveHoursWeek3; }
+
+    public double getLeaveHoursWeek4() { return leaveHoursWeek4; }
+    public void setLeaveHoursWeek4(double leaveHoursWeek4) { this.leaveHoursWeek4 = leaveHoursWeek4; }
+
+    public double getLeaveHoursWeek5() { return leaveHoursWeek5; }
+    public void setLeaveHoursWeek5(double leaveHoursWeek5) { this.leaveHoursWeek5 = leaveHoursWeek5; }
+
+    public double getLeaveHoursWeek6() { return leaveHoursWeek6; }
+    public void setLeaveHoursWeek6(double leaveHoursWeek6) { this.leaveHoursWeek6 = leaveHoursWeek6; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    /**
+     * Working hours per week, index 0 = week 1.
+     */
+    public double[] getWeeklyWorkHours() {
+        return new double[]{workHoursWeek1, workHoursWeek2, workHoursWeek3, workHoursWeek4, workHoursWeek5, workHoursWeek6};
+    }
+
+    public void setWeeklyWorkHours(double[] hours) {
+        workHoursWeek1 = week(hours, 0);
+        workHoursWeek2 = week(hours, 1);
+        workHoursWeek3 = week(hours, 2);
+        workHoursWeek4 = week(hours, 3);
+        workHoursWeek5 = week(hours, 4);
+        workHoursWeek6 = week(hours, 5);
+    }
+
+    public double[] getWeeklyLeaveHours() {
+        return new double[]{leaveHoursWeek1, leaveHoursWeek2, leaveHoursWeek3, leaveHoursWeek4, leaveHoursWeek5, leaveHoursWeek6};
+    }
+
+    public void setWeeklyLeaveHours(double[] hours) {
+        leaveHoursWeek1 = week(hours, 0);
+        leaveHoursWeek2 = week(hours, 1);
+        leaveHoursWeek3 = week(hours, 2);
+        leaveHoursWeek4 = week(hours, 3);
+        leaveHoursWeek5 = week(hours, 4);
+        leaveHoursWeek6 = week(hours, 5);
+    }
+
+    private static double week(double[] hours, int index) {
+        return index < hours.length ? hours[index] : 0.0;
+    }
+}
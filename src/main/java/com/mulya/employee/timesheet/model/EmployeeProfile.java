@@ -0,0 +1,131 @@
+package com.mulya.employee.timesheet.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Local projection of the remote facts read paths need per employee
+ * (user-register: name, email; candidate service: primary placement).
+ */
+@Entity
+@Table(name = "employee_profile_us", indexes = {
+        @Index(name = "idx_employee_profile_refreshed_at", columnList = "refreshedAt")
+})
+public class EmployeeProfile {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = true)
+    private String employeeName;
+
+    @Column(nullable = true)
+    private String email;
+
+    @Column(nullable = true)
+    private String employeeWorkingType; // DAILY / WEEKLY from the placement in effect at refresh time
+
+    @Column(nullable = true)
+    private String employeeType; // employmentType, e.g. Full-time
+
+    @Column(nullable = true)
+    private String clientName;
+
+    @Column(nullable = true)
+    private String vendorName;
+
+    @Column(nullable = true)
+    private LocalDate startDate;
+
+    /**
+     * JSON of every placement, so historical dates resolve to the right client locally
+     */
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String placementsJson;
+
+    @Column(nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getEmployeeWorkingType() {
+        return employeeWorkingType;
+    }
+
+    public void setEmployeeWorkingType(String employeeWorkingType) {
+        this.employeeWorkingType = employeeWorkingType;
+    }
+
+    public String getEmployeeType() {
+        return employeeType;
+    }
+
+    public void setEmployeeType(String employeeType) {
+        this.employeeType = employeeType;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public String getVendorName() {
+        return vendorName;
+    }
+
+    public void setVendorName(String vendorName) {
+        this.vendorName = vendorName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getPlacementsJson() {
+        return placementsJson;
+    }
+
+    public void setPlacementsJson(String placementsJson) {
+        this.placementsJson = placementsJson;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
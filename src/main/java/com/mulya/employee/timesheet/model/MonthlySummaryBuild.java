@@ -0,0 +1,39 @@
+package com.mulya.employee.timesheet.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a calendar month whose employee_monthly_summary_us rows were fully built, and with which
+ * version of the aggregation rules. Months without a marker, or with an older version, are rebuilt.
+ */
+@Entity
+@Table(name = "employee_monthly_summary_build_us")
+public class MonthlySummaryBuild {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "rules_version", nullable = false)
+    private int rulesVersion;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public int getRulesVersion() { return rulesVersion; }
+    public void setRulesVersion(int rulesVersion) { this.rulesVersion = rulesVersion; }
+
+    public int getRowCount() { return rowCount; }
+    public void setRowCount(int rowCount) { this.rowCount = rowCount; }
+
+    public LocalDateTime getBuiltAt() { return builtAt; }
+    public void setBuiltAt(LocalDateTime builtAt) { this.builtAt = builtAt; }
+}
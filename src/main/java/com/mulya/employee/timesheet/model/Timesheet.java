@@ -48,6 +48,15 @@ public class Timesheet {
     @Column(nullable = false)
     private Double percentageOfTarget; // e.g. hours / 40 * 100
 
+    /**
+     * Aggregates of the entry JSON, recomputed on every save (null until backfilled)
+     */
+    private Double totalWorkingHours;
+    private Double totalLeaveHours;
+    private Integer fullDayLeaveCount;
+    private LocalDate firstEntryDate;
+    private LocalDate lastEntryDate;
+
     @Column(nullable = false)
     private String employeeType;
 
@@ -106,6 +115,21 @@ public class Timesheet {
     public Double getPercentageOfTarget() { return percentageOfTarget; }
     public void setPercentageOfTarget(Double percentageOfTarget) { this.percentageOfTarget = percentageOfTarget; }
 
+    public Double getTotalWorkingHours() { return totalWorkingHours; }
+    public void setTotalWorkingHours(Double totalWorkingHours) { this.totalWorkingHours = totalWorkingHours; }
+
+    public Double getTotalLeaveHours() { return totalLeaveHours; }
+    public void setTotalLeaveHours(Double totalLeaveHours) { this.totalLeaveHours = totalLeaveHours; }
+
+    public Integer getFullDayLeaveCount() { return fullDayLeaveCount; }
+    public void setFullDayLeaveCount(Integer fullDayLeaveCount) { this.fullDayLeaveCount = fullDayLeaveCount; }
+
+    public LocalDate getFirstEntryDate() { return firstEntryDate; }
+    public void setFirstEntryDate(LocalDate firstEntryDate) { this.firstEntryDate = firstEntryDate; }
+
+    public LocalDate getLastEntryDate() { return lastEntryDate; }
+    public void setLastEntryDate(LocalDate lastEntryDate) { this.lastEntryDate = lastEntryDate; }
+
     public String getEmployeeType() { return employeeType; }
     public void setEmployeeType(String employeeType) { this.employeeType = employeeType; }
 
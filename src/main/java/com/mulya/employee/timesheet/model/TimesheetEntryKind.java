@@ -0,0 +1,6 @@
+package com.mulya.employee.timesheet.model;
+
+public enum TimesheetEntryKind {
+    WORKING,
+    NON_WORKING
+}
@@ -0,0 +1,106 @@
+package com.mulya.employee.timesheet.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * One day of a timesheet's workingHours / nonWorkingHours JSON, stored as a row so hour totals
+ * can be aggregated in SQL. The JSON columns on {@link Timesheet} remain the source of truth;
+ * rows are rewritten whenever a timesheet is saved.
+ */
+@Entity
+@Table(name = "timesheet_entry_us", indexes = {
+        @Index(name = "idx_timesheet_entry_user_date", columnList = "user_id, entry_date"),
+        @Index(name = "idx_timesheet_entry_date", columnList = "entry_date"),
+        @Index(name = "idx_timesheet_entry_timesheet", columnList = "timesheet_id")
+})
+public class TimesheetEntryRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "timesheet_id", length = 12, nullable = false)
+    private String timesheetId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TimesheetEntryKind kind; // WORKING or NON_WORKING (leave)
+
+    private String project;
+
+    private Double hours;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTimesheetId() {
+        return timesheetId;
+    }
+
+    public void setTimesheetId(String timesheetId) {
+        this.timesheetId = timesheetId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public void setEntryDate(LocalDate entryDate) {
+        this.entryDate = entryDate;
+    }
+
+    public TimesheetEntryKind getKind() {
+        return kind;
+    }
+
+    public void setKind(TimesheetEntryKind kind) {
+        this.kind = kind;
+    }
+
+    public String getProject() {
+        return project;
+    }
+
+    public void setProject(String project) {
+        this.project = project;
+    }
+
+    public Double getHours() {
+        return hours;
+    }
+
+    public void setHours(Double hours) {
+        this.hours = hours;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
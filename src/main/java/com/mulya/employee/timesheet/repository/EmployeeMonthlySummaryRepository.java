@@ -0,0 +1,42 @@
+package com.mulya.employee.timesheet.repository;
+
+import com.mulya.employee.timesheet.model.EmployeeMonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EmployeeMonthlySummaryRepository extends JpaRepository<EmployeeMonthlySummary, Long> {
+
+    List<EmployeeMonthlySummary> findByMonthStartOrderByUserIdAsc(LocalDate monthStart);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeMonthlySummary s WHERE s.userId = :userId AND s.monthStart = :monthStart")
+    int deleteByUserIdAndMonthStart(@Param("userId") String userId, @Param("monthStart") LocalDate monthStart);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeMonthlySummary s WHERE s.monthStart = :monthStart")
+    int deleteByMonthStart(@Param("monthStart") LocalDate monthStart);
+
+    // Insert-or-replace on (user_id, month_start), so concurrent saves for the same user and month cannot collide
+    @Modifying
+    @Query(value = "INSERT INTO employee_monthly_summary_us (" +
+            "user_id, month_start, month_end, work_hours_week1, work_hours_week2, work_hours_week3, " +
+            "work_hours_week4, work_hours_week5, work_hours_week6, leave_hours_week1, leave_hours_week2, leave_hours_week3, " +
+            "leave_hours_week4, leave_hours_week5, leave_hours_week6, status, updated_at) VALUES (" +
+            ":#{#s.userId}, :#{#s.monthStart}, :#{#s.monthEnd}, :#{#s.workHoursWeek1}, " +
+            ":#{#s.workHoursWeek2}, :#{#s.workHoursWeek3}, :#{#s.workHoursWeek4}, :#{#s.workHoursWeek5}, " +
+            ":#{#s.workHoursWeek6}, :#{#s.leaveHoursWeek1}, :#{#s.leaveHoursWeek2}, :#{#s.leaveHoursWeek3}, " +
+            ":#{#s.leaveHoursWeek4}, :#{#s.leaveHoursWeek5}, :#{#s.leaveHoursWeek6}, :#{#s.status}, " +
+            ":#{#s.updatedAt}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "month_end = VALUES(month_end), work_hours_week1 = VALUES(work_hours_week1), work_hours_week2 = VALUES(work_hours_week2), " +
+            "work_hours_week3 = VALUES(work_hours_week3), work_hours_week4 = VALUES(work_hours_week4), work_hours_week5 = VALUES(work_hours_week5), " +
+            "work_hours_week6 = VALUES(work_hours_week6), leave_hours_week1 = VALUES(leave_hours_week1), leave_hours_week2 = VALUES(leave_hours_week2), " +
+            "leave_hours_week3 = VALUES(leave_hours_week3), leave_hours_week4 = VALUES(leave_hours_week4), leave_hours_week5 = VALUES(leave_hours_week5), " +
+            "leave_hours_week6 = VALUES(leave_hours_week6), status = VALUES(status), updated_at = VALUES(updated_at)", nativeQuery = true)
+    int upsert(@Param("s") EmployeeMonthlySummary summary);
+}
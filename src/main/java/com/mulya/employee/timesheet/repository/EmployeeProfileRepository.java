@@ -0,0 +1,16 @@
+package com.mulya.employee.timesheet.repository;
+
+import com.mulya.employee.timesheet.model.EmployeeProfile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeProfileRepository extends JpaRepository<EmployeeProfile, String> {
+
+    List<EmployeeProfile> findByUserIdIn(Collection<String> userIds);
+
+    List<EmployeeProfile> findByRefreshedAtBeforeOrderByRefreshedAtAsc(LocalDateTime cutoff, Pageable pageable);
+}
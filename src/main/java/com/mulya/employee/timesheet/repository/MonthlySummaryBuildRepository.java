@@ -0,0 +1,9 @@
+package com.mulya.employee.timesheet.repository;
+
+import com.mulya.employee.timesheet.model.MonthlySummaryBuild;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface MonthlySummaryBuildRepository extends JpaRepository<MonthlySummaryBuild, LocalDate> {
+}
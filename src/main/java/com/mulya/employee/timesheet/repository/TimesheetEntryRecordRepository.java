@@ -0,0 +1,42 @@
+package com.mulya.employee.timesheet.repository;
+
+import com.mulya.employee.timesheet.model.TimesheetEntryKind;
+import com.mulya.employee.timesheet.model.TimesheetEntryRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface TimesheetEntryRecordRepository extends JpaRepository<TimesheetEntryRecord, Long> {
+
+    List<TimesheetEntryRecord> findByTimesheetId(String timesheetId);
+
+    @Modifying
+    @Query("DELETE FROM TimesheetEntryRecord e WHERE e.timesheetId IN :timesheetIds")
+    int deleteByTimesheetIdIn(@Param("timesheetIds") Collection<String> timesheetIds);
+
+    @Query("SELECT e.userId AS userId, e.kind AS kind, SUM(e.hours) AS hours FROM TimesheetEntryRecord e " +
+            "WHERE e.entryDate BETWEEN :fromDate AND :toDate " +
+            "GROUP BY e.userId, e.kind")
+    List<HoursTotal> sumHoursByUserAndKind(@Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT e.userId AS userId, e.kind AS kind, SUM(e.hours) AS hours FROM TimesheetEntryRecord e " +
+            "WHERE e.userId = :userId AND e.entryDate BETWEEN :fromDate AND :toDate " +
+            "GROUP BY e.userId, e.kind")
+    List<HoursTotal> sumHoursByKindForUser(@Param("userId") String userId,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+
+    interface HoursTotal {
+        String getUserId();
+
+        TimesheetEntryKind getKind();
+
+        Double getHours();
+    }
+}
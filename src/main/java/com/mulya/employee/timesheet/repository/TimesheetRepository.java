@@ -5,6 +5,7 @@ import com.mulya.employee.timesheet.model.Timesheet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,6 +27,38 @@ public interface TimesheetRepository  extends JpaRepository<Timesheet, Long> {
 
     List<Timesheet> findByWeekStartDateBetween(LocalDate startDate, LocalDate endDate);
 
+    List<Timesheet> findByUserIdAndWeekStartDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+
+    /**
+     * Hours and best status per user and Monday-Friday week for timesheets starting in [monthStart, monthEnd],
+     * summed in the database from timesheet_entry_us. A timesheet belongs to the week containing its
+     * weekStartDate (weekIndex counted from firstMonday, -1 for a weekend start) and only its entries on
+     * that week's Monday-Friday inside the range count. Hours are rounded to whole minutes per entry.
+     */
+    String WEEKLY_HOURS_QUERY = "SELECT t.user_id AS userId, " +
+            "CASE WHEN WEEKDAY(t.week_start_date) > 4 THEN -1 ELSE DATEDIFF(t.week_start_date, :firstMonday) DIV 7 END AS weekIndex, " +
+            "COALESCE(SUM(CASE WHEN e.kind = 'WORKING' THEN ROUND(COALESCE(e.hours, 0) * 60) END), 0) / 60 AS workHours, " +
+            "COALESCE(SUM(CASE WHEN e.kind = 'NON_WORKING' THEN ROUND(COALESCE(e.hours, 0) * 60) END), 0) / 60 AS leaveHours, " +
+            "MIN(CASE t.status WHEN 'DRAFT' THEN 1 WHEN 'PENDING_APPROVAL' THEN 2 WHEN 'REJECTED' THEN 3 WHEN 'APPROVED' THEN 4 END) AS minStatusPriority " +
+            "FROM timesheets_us t " +
+            "LEFT JOIN timesheet_entry_us e ON e.timesheet_id = t.timesheet_id " +
+            "AND WEEKDAY(t.week_start_date) <= 4 " +
+            "AND e.entry_date BETWEEN GREATEST(t.week_start_date - INTERVAL WEEKDAY(t.week_start_date) DAY, :monthStart) " +
+            "AND LEAST(t.week_start_date - INTERVAL WEEKDAY(t.week_start_date) DAY + INTERVAL 4 DAY, :monthEnd) " +
+            "WHERE t.week_start_date BETWEEN :monthStart AND :monthEnd ";
+
+    @Query(value = WEEKLY_HOURS_QUERY + "GROUP BY t.user_id, weekIndex", nativeQuery = true)
+    List<WeeklyHoursRow> sumWeeklyHours(@Param("monthStart") LocalDate monthStart,
+                                        @Param("monthEnd") LocalDate monthEnd,
+                                        @Param("firstMonday") LocalDate firstMonday);
+
+    @Query("SELECT MIN(t.weekStartDate) FROM Timesheet t")
+    LocalDate findEarliestWeekStartDate();
+
+    @Query("SELECT MAX(t.weekStartDate) FROM Timesheet t")
+    LocalDate findLatestWeekStartDate();
+
 
     @Query("SELECT t FROM Timesheet t WHERE t.userId = :userId " +
             "AND (t.weekStartDate BETWEEN :monthStart AND :monthEnd " +
@@ -35,5 +68,44 @@ public interface TimesheetRepository  extends JpaRepository<Timesheet, Long> {
             @Param("monthStart") LocalDate monthStart,
             @Param("monthEnd") LocalDate monthEnd);
 
+    // Keyset paging for background jobs that walk every timesheet
+    List<Timesheet> findByTimesheetIdGreaterThanOrderByTimesheetIdAsc(String timesheetId, Pageable pageable);
+
+    List<Timesheet> findByTotalWorkingHoursIsNullAndTimesheetIdGreaterThanOrderByTimesheetIdAsc(String timesheetId, Pageable pageable);
+
+    // Bulk update that bypasses entity callbacks (updatedAt is left alone)
+    @Modifying
+    @Query("UPDATE Timesheet t SET t.totalWorkingHours = :totalWorkingHours, t.totalLeaveHours = :totalLeaveHours, " +
+            "t.fullDayLeaveCount = :fullDayLeaveCount, t.firstEntryDate = :firstEntryDate, t.lastEntryDate = :lastEntryDate " +
+            "WHERE t.timesheetId = :timesheetId")
+    int updateTotals(@Param("timesheetId") String timesheetId,
+                     @Param("totalWorkingHours") Double totalWorkingHours,
+                     @Param("totalLeaveHours") Double totalLeaveHours,
+                     @Param("fullDayLeaveCount") Integer fullDayLeaveCount,
+                     @Param("firstEntryDate") LocalDate firstEntryDate,
+                     @Param("lastEntryDate") LocalDate lastEntryDate);
+
+    // Compare-and-set rewrite of the entry columns: a timesheet saved since it was read is left alone
+    @Modifying
+    @Query("UPDATE Timesheet t SET t.workingHours = :workingHours, t.nonWorkingHours = :nonWorkingHours " +
+            "WHERE t.timesheetId = :timesheetId " +
+            "AND (t.workingHours = :expectedWorkingHours OR (t.workingHours IS NULL AND :expectedWorkingHours IS NULL)) " +
+            "AND (t.nonWorkingHours = :expectedNonWorkingHours OR (t.nonWorkingHours IS NULL AND :expectedNonWorkingHours IS NULL))")
+    int replaceEntryColumns(@Param("timesheetId") String timesheetId,
+                            @Param("workingHours") String workingHours,
+                            @Param("nonWorkingHours") String nonWorkingHours,
+                            @Param("expectedWorkingHours") String expectedWorkingHours,
+                            @Param("expectedNonWorkingHours") String expectedNonWorkingHours);
+
+    interface WeeklyHoursRow {
+        String getUserId();
+
+        Number getWeekIndex();
+
+        Number getWorkHours();
+
+        Number getLeaveHours();
 
-}
\ No newline at end of file
+        Number getMinStatusPriority(); // null when no timesheet in the week has a known status
+    }
+}
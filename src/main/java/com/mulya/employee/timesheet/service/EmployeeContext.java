@@ -0,0 +1,175 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.client.CandidateClient;
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.dto.PlacementTimeline;
+import com.mulya.employee.timesheet.dto.UserDto;
+import com.mulya.employee.timesheet.dto.UserInfoDto;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-request view of the employees a request works on. Each fact (user record, display name,
+ * email, placements) is looked up at most once per request; {@link #prefetch} starts the name and
+ * email -> placements lookups concurrently on the non-blocking clients while the user record is
+ * fetched on the calling thread. Service and controller code share the results for the rest of
+ * the request instead of re-resolving the same user.
+ * Lookup failures surface the same exceptions as the underlying client calls.
+ */
+@Component
+@RequestScope
+public class EmployeeContext {
+
+    @Autowired
+    private UserRegisterClient userRegisterClient;
+
+    @Autowired
+    private CandidateClient candidateClient;
+
+    private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    public EmployeeContext() {
+    }
+
+    /**
+     * Context for a single call outside of a web request (jobs, async work).
+     */
+    public EmployeeContext(UserRegisterClient userRegisterClient, CandidateClient candidateClient) {
+        this.userRegisterClient = userRegisterClient;
+        this.candidateClient = candidateClient;
+    }
+
+    /**
+     * Starts every lookup for the user that has not been started yet.
+     */
+    public EmployeeContext prefetch(String userId) {
+        userInfos(userId);
+        timeline(userId);
+        return this;
+    }
+
+    /**
+     * User record; throws ResourceNotFoundException like UserRegisterClient.getUserById.
+     */
+    public UserDto getUser(String userId) {
+        Resolution resolution = resolution(userId);
+        synchronized (resolution) {
+            if (resolution.user == null) {
+                try {
+                    resolution.user = CompletableFuture.completedFuture(userRegisterClient.getUserById(userId));
+                } catch (RuntimeException ex) {
+                    resolution.user = CompletableFuture.failedFuture(ex);
+                }
+            }
+        }
+        return join(resolution.user);
+    }
+
+    public String getEmployeeName(String userId) {
+        try {
+            List<UserInfoDto> infos = join(userInfos(userId));
+            return infos.isEmpty() || infos.get(0).getUserName() == null ? "Unknown" : infos.get(0).getUserName();
+        } catch (RuntimeException ex) {
+            return "Unknown";
+        }
+    }
+
+    /**
+     * Email; throws ResourceNotFoundException like UserRegisterClient.getUserEmail.
+     */
+    public String getEmail(String userId) {
+        return join(email(userId));
+    }
+
+    /**
+     * Placements; throws ResourceNotFoundException if the user has no email or no placements.
+     */
+    public PlacementTimeline getTimeline(String userId) {
+        return join(timeline(userId));
+    }
+
+    /**
+     * Placement in effect on the date, or null if placements could not be resolved.
+     */
+    public PlacementDetailsDto findPlacementOn(String userId, LocalDate date) {
+        try {
+            return getTimeline(userId).placementOn(date);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    public boolean isFullTime(String userId, LocalDate date) {
+        PlacementDetailsDto placement = findPlacementOn(userId, date);
+        return placement != null && "Full-time".equalsIgnoreCase(placement.getEmployeeType());
+    }
+
+    private Resolution resolution(String userId) {
+        return resolutions.computeIfAbsent(userId, id -> new Resolution());
+    }
+
+    private CompletableFuture<List<UserInfoDto>> userInfos(String userId) {
+        Resolution resolution = resolution(userId);
+        synchronized (resolution) {
+            if (resolution.userInfos == null) {
+                resolution.userInfos = userRegisterClient.getUserInfosAsync(userId);
+            }
+            return resolution.userInfos;
+        }
+    }
+
+    private CompletableFuture<String> email(String userId) {
+        Resolution resolution = resolution(userId);
+        synchronized (resolution) {
+            if (resolution.email == null) {
+                resolution.email = userRegisterClient.getUserEmailAsync(userId);
+            }
+            return resolution.email;
+        }
+    }
+
+    private CompletableFuture<PlacementTimeline> timeline(String userId) {
+        CompletableFuture<String> email = email(userId);
+        Resolution resolution = resolution(userId);
+        synchronized (resolution) {
+            if (resolution.timeline == null) {
+                resolution.timeline = email.thenCompose(address -> {
+                    if (address == null || address.isBlank()) {
+                        throw new ResourceNotFoundException("User email not found for userId: " + userId,
+                                ResourceNotFoundException.ResourceType.USER);
+                    }
+                    return candidateClient.getPlacementsByEmailAsync(address);
+                }).thenApply(PlacementTimeline::of);
+            }
+            return resolution.timeline;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Resolution {
+        private CompletableFuture<UserDto> user;
+        private CompletableFuture<List<UserInfoDto>> userInfos;
+        private CompletableFuture<String> email;
+        private CompletableFuture<PlacementTimeline> timeline;
+    }
+}
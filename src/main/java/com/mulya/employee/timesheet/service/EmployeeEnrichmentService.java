@@ -0,0 +1,219 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.client.CandidateClient;
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.EmployeeEnrichment;
+import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.dto.UserInfoDto;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Resolves name, email and placements for the employees a response needs.
+ * In parallel mode the independent lookups for distinct users run concurrently on the
+ * bounded enrichment executor (at most {@code parallelism} users per request) and the whole
+ * fan-out is bounded by a per-request deadline; users not resolved in time fall back to defaults.
+ * The per-user email -> placements chain is composed on the non-blocking client variants, so it
+ * does not hold an executor thread while the downstream services answer.
+ * Each result records whether its name and contact lookups answered or failed, so callers that
+ * persist it can tell a fallback from a fact ({@link EmployeeEnrichment#isComplete()}).
+ */
+@Service
+public class EmployeeEnrichmentService {
+
+    @Autowired
+    private UserRegisterClient userRegisterClient;
+
+    @Autowired
+    private CandidateClient candidateClient;
+
+    @Autowired
+    @Qualifier("enrichmentExecutor")
+    private Executor enrichmentExecutor;
+
+    @Value("${timesheet.enrichment.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${timesheet.enrichment.parallelism:8}")
+    private int parallelism;
+
+    @Value("${timesheet.enrichment.deadline-ms:5000}")
+    private long deadlineMs;
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeEnrichmentService.class);
+
+    public EmployeeEnrichment enrich(String userId) {
+        return enrich(List.of(userId)).get(userId);
+    }
+
+    public Map<String, EmployeeEnrichment> enrich(Collection<String> userIds) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        Set<String> distinctIds = new LinkedHashSet<>(userIds);
+        distinctIds.remove(null);
+
+        // Names come from one batched user-service call; email -> placements is a per-user chain
+        CompletableFuture<UserRegisterClient.UserInfoResolution> namesFuture =
+                submit(() -> userRegisterClient.resolveUserInfos(distinctIds));
+
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        Map<String, CompletableFuture<ContactAndPlacements>> lookups = new LinkedHashMap<>();
+        for (String userId : distinctIds) {
+            if (parallelEnabled && !acquire(permits, deadline)) {
+                lookups.put(userId, CompletableFuture.completedFuture(ContactAndPlacements.FAILED));
+                continue;
+            }
+            CompletableFuture<ContactAndPlacements> lookup = parallelEnabled
+                    ? lookupContactAndPlacementsAsync(userId)
+                    : submit(() -> lookupContactAndPlacements(userId));
+            if (parallelEnabled) {
+                lookup.whenComplete((result, error) -> permits.release());
+            }
+            lookups.put(userId, lookup);
+        }
+
+        // A names call that failed or missed the deadline leaves every name unresolved
+        UserRegisterClient.UserInfoResolution names = await(namesFuture, deadline,
+                new UserRegisterClient.UserInfoResolution(Map.of(), distinctIds));
+        Map<String, EmployeeEnrichment> enriched = new LinkedHashMap<>();
+        lookups.forEach((userId, lookup) -> {
+            ContactAndPlacements found = await(lookup, deadline, ContactAndPlacements.FAILED);
+            UserInfoDto info = names.found().get(userId);
+            EmployeeEnrichment.Lookup nameLookup = info != null ? EmployeeEnrichment.Lookup.FOUND
+                    : names.failed().contains(userId) ? EmployeeEnrichment.Lookup.FAILED
+                    : EmployeeEnrichment.Lookup.NOT_FOUND;
+            enriched.put(userId, new EmployeeEnrichment(
+                    userId,
+                    info == null ? "Unknown" : info.getUserName(),
+                    found.email(),
+                    found.placements(),
+                    nameLookup,
+                    found.lookup()));
+        });
+        return enriched;
+    }
+
+    /**
+     * Runs a blocking lookup on the enrichment executor (or inline when parallel mode is off).
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> lookup) {
+        if (!parallelEnabled) {
+            try {
+                return CompletableFuture.completedFuture(lookup.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return CompletableFuture.supplyAsync(lookup, enrichmentExecutor);
+    }
+
+    /**
+     * Waits for a lookup started with {@link #submit} within the per-request deadline.
+     */
+    public <T> T await(CompletableFuture<T> future, T fallback) {
+        return await(future, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs), fallback);
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline, T fallback) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("Enrichment lookup exceeded the {} ms deadline; using fallback", deadlineMs);
+            future.cancel(true);
+            return fallback;
+        } catch (ExecutionException ex) {
+            logger.warn("Enrichment lookup failed: {}", ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+            return fallback;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        }
+    }
+
+    private boolean acquire(Semaphore permits, long deadline) {
+        try {
+            return permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ContactAndPlacements lookupContactAndPlacements(String userId) {
+        String email;
+        try {
+            email = userRegisterClient.getUserEmail(userId);
+        } catch (ResourceNotFoundException ex) {
+            logger.warn("No email found for userId {}: {}", userId, ex.getMessage());
+            return ContactAndPlacements.NOT_FOUND;
+        }
+        if (email == null || email.isBlank()) {
+            return ContactAndPlacements.NOT_FOUND;
+        }
+
+        try {
+            return ContactAndPlacements.found(email, candidateClient.getPlacementsByEmail(email));
+        } catch (ResourceNotFoundException ex) {
+            logger.warn("No placement details found for email {}: {}", email, ex.getMessage());
+            return ContactAndPlacements.found(email, List.of());
+        }
+    }
+
+    // Same policy as the blocking variant: only "not found" means no email / no placements,
+    // unavailability (timeouts, open circuit, full bulkhead, 5xx) propagates to the caller
+    private CompletableFuture<ContactAndPlacements> lookupContactAndPlacementsAsync(String userId) {
+        return userRegisterClient.getUserEmailAsync(userId)
+                .handle((email, error) -> {
+                    if (error == null) {
+                        return email;
+                    }
+                    ResourceNotFoundException notFound = notFound(error);
+                    logger.warn("No email found for userId {}: {}", userId, notFound.getMessage());
+                    return null;
+                })
+                .thenCompose(email -> {
+                    if (email == null || email.isBlank()) {
+                        return CompletableFuture.completedFuture(ContactAndPlacements.NOT_FOUND);
+                    }
+                    return candidateClient.getPlacementsByEmailAsync(email)
+                            .handle((placements, error) -> {
+                                if (error == null) {
+                                    return ContactAndPlacements.found(email, placements);
+                                }
+                                ResourceNotFoundException notFound = notFound(error);
+                                logger.warn("No placement details found for email {}: {}", email, notFound.getMessage());
+                                return ContactAndPlacements.found(email, List.of());
+                            });
+                });
+    }
+
+    // The ResourceNotFoundException behind an async failure; any other failure is rethrown
+    private static ResourceNotFoundException notFound(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ResourceNotFoundException notFound) {
+            return notFound;
+        }
+        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+
+    private record ContactAndPlacements(String email, List<PlacementDetailsDto> placements, EmployeeEnrichment.Lookup lookup) {
+        static final ContactAndPlacements NOT_FOUND = new ContactAndPlacements(null, List.of(), EmployeeEnrichment.Lookup.NOT_FOUND);
+        static final ContactAndPlacements FAILED = new ContactAndPlacements(null, List.of(), EmployeeEnrichment.Lookup.FAILED);
+
+        static ContactAndPlacements found(String email, List<PlacementDetailsDto> placements) {
+            return new ContactAndPlacements(email, placements, EmployeeEnrichment.Lookup.FOUND);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mulya.employee.timesheet.dto.EmployeeEnrichment;
+import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.model.EmployeeProfile;
+import com.mulya.employee.timesheet.repository.EmployeeProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the employee_profile_us projection.
+ * Read paths resolve every employee they need with one IN query; only users seen for the first
+ * time are enriched remotely on the request path. Profiles are refreshed in the background after
+ * timesheet writes and by a scheduled job that re-enriches the oldest rows.
+ */
+@Service
+public class EmployeeProfileService {
+
+    @Autowired
+    private EmployeeProfileRepository employeeProfileRepository;
+
+    @Autowired
+    private EmployeeEnrichmentService enrichmentService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    @Qualifier("profileRefreshExecutor")
+    private Executor refreshExecutor;
+
+    @Value("${timesheet.employee-profile.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @Value("${timesheet.employee-profile.refresh-batch-size:200}")
+    private int refreshBatchSize;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeProfileService.class);
+
+    public EmployeeEnrichment getProfile(String userId) {
+        return getProfiles(List.of(userId)).getOrDefault(userId, EmployeeEnrichment.unknown(userId));
+    }
+
+    /**
+     * Profiles for the given users keyed by userId; users without a stored profile are enriched
+     * remotely and stored. Users that cannot be resolved are absent from the map.
+     */
+    public Map<String, EmployeeEnrichment> getProfiles(Collection<String> userIds) {
+        Set<String> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, EmployeeEnrichment> profiles = new HashMap<>();
+        employeeProfileRepository.findByUserIdIn(distinctIds)
+                .forEach(profile -> profiles.put(profile.getUserId(), toEnrichment(profile)));
+
+        List<String> unseen = distinctIds.stream()
+                .filter(id -> !profiles.containsKey(id))
+                .collect(Collectors.toList());
+        if (!unseen.isEmpty()) {
+            profiles.putAll(refreshNow(unseen));
+        }
+        return profiles;
+    }
+
+    /**
+     * Re-enriches the user in the background (e.g. after a timesheet write). Inside a transaction the
+     * refresh is scheduled once it commits, so the remote calls never run within it.
+     */
+    public void refreshAsync(String userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleRefresh(userId);
+                }
+            });
+        } else {
+            scheduleRefresh(userId);
+        }
+    }
+
+    private void scheduleRefresh(String userId) {
+        if (!refreshing.add(userId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshNow(List.of(userId));
+                } catch (Exception ex) {
+                    logger.warn("[EmployeeProfile] Could not refresh profile for {}: {}", userId, ex.getMessage());
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshing.remove(userId);
+            logger.warn("[EmployeeProfile] Could not schedule refresh for {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Enriches the users remotely and stores the result; returns what was resolved and stored.
+     * A user for whom any lookup failed (outage, deadline) is not stored: an existing profile keeps
+     * its values and refreshedAt, so it stays stale and is retried.
+     */
+    public Map<String, EmployeeEnrichment> refreshNow(Collection<String> userIds) {
+        Map<String, EmployeeEnrichment> enriched = enrichmentService.enrich(userIds);
+        Map<String, EmployeeEnrichment> resolved = new HashMap<>();
+        List<EmployeeProfile> toSave = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        enriched.forEach((userId, employee) -> {
+            if (!employee.isComplete()) {
+                logger.warn("[EmployeeProfile] Not storing profile for {}: name lookup {}, contact lookup {}",
+                        userId, employee.getNameLookup(), employee.getContactLookup());
+                return;
+            }
+            toSave.add(toProfile(employee, now));
+            resolved.put(userId, employee);
+        });
+
+        try {
+            employeeProfileRepository.saveAll(toSave);
+        } catch (DataAccessException ex) {
+            // Another request stored the same profile first; the next read picks it up
+            logger.warn("[EmployeeProfile] Could not store {} profile(s): {}", toSave.size(), ex.getMessage());
+        }
+        return resolved;
+    }
+
+    @Scheduled(initialDelayString = "${timesheet.employee-profile.refresh-ms:600000}",
+            fixedDelayString = "${timesheet.employee-profile.refresh-ms:600000}")
+    public void scheduledRefresh() {
+        try {
+            refreshStaleProfiles();
+        } catch (Exception ex) {
+            logger.warn("[EmployeeProfile] Scheduled refresh failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Re-enriches the profiles not refreshed within max-age, oldest first, one batch per call.
+     */
+    public int refreshStaleProfiles() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(maxAgeSeconds);
+        List<String> staleIds = employeeProfileRepository
+                .findByRefreshedAtBeforeOrderByRefreshedAtAsc(cutoff, PageRequest.of(0, Math.max(1, refreshBatchSize)))
+                .stream()
+                .map(EmployeeProfile::getUserId)
+                .collect(Collectors.toList());
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+        int refreshed = refreshNow(staleIds).size();
+        logger.info("[EmployeeProfile] Refreshed {} of {} stale profile(s)", refreshed, staleIds.size());
+        return refreshed;
+    }
+
+    private EmployeeProfile toProfile(EmployeeEnrichment employee, LocalDateTime refreshedAt) {
+        EmployeeProfile profile = new EmployeeProfile();
+        profile.setUserId(employee.getUserId());
+        profile.setEmployeeName(employee.getEmployeeName());
+        profile.setEmail(employee.getEmail());
+        PlacementDetailsDto placement = employee.getPrimaryPlacement();
+        if (placement != null) {
+            profile.setEmployeeWorkingType(placement.getEmployeeWorkingType());
+            profile.setEmployeeType(placement.getEmployeeType());
+            profile.setClientName(placement.getClientName());
+            profile.setVendorName(placement.getVendorName());
+            profile.setStartDate(placement.getStartDate());
+        }
+        if (!employee.getPlacements().isEmpty()) {
+            try {
+                profile.setPlacementsJson(mapper.writeValueAsString(employee.getPlacements()));
+            } catch (JsonProcessingException ex) {
+                logger.warn("[EmployeeProfile] Could not serialize placements for {}: {}", employee.getUserId(), ex.getMessage());
+            }
+        }
+        profile.setRefreshedAt(refreshedAt);
+        return profile;
+    }
+
+    private EmployeeEnrichment toEnrichment(EmployeeProfile profile) {
+        if (profile.getPlacementsJson() != null) {
+            try {
+                List<PlacementDetailsDto> placements = mapper.readValue(profile.getPlacementsJson(),
+                        new TypeReference<List<PlacementDetailsDto>>() {});
+                return new EmployeeEnrichment(profile.getUserId(), profile.getEmployeeName(), profile.getEmail(), placements);
+            } catch (JsonProcessingException ex) {
+                logger.warn("[EmployeeProfile] Malformed placements for {}: {}", profile.getUserId(), ex.getMessage());
+            }
+        }
+
+        // Only the current placement is known for this profile
+        List<PlacementDetailsDto> placements = List.of();
+        if (profile.getEmployeeWorkingType() != null || profile.getEmployeeType() != null
+                || profile.getClientName() != null || profile.getStartDate() != null) {
+            PlacementDetailsDto placement = new PlacementDetailsDto();
+            placement.setEmployeeWorkingType(profile.getEmployeeWorkingType());
+            placement.setEmployeeType(profile.getEmployeeType());
+            placement.setClientName(profile.getClientName());
+            placement.setVendorName(profile.getVendorName());
+            placement.setStartDate(profile.getStartDate());
+            placements = List.of(placement);
+        }
+        return new EmployeeEnrichment(profile.getUserId(), profile.getEmployeeName(), profile.getEmail(), placements);
+    }
+}
@@ -0,0 +1,152 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mulya.employee.timesheet.client.SingleFlight;
+import com.mulya.employee.timesheet.dto.EmployeeMonthlyTimesheetDto;
+import com.mulya.employee.timesheet.dto.MonthlySummaryResult;
+import com.mulya.employee.timesheet.model.Timesheet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Result cache for the all-employees monthly summary, keyed by (monthStart, monthEnd).
+ * Concurrent misses for the same range share one computation. Timesheet saves evict, after their
+ * transaction commits, only the ranges overlapping the timesheet's week; a result computed while
+ * a save was committing is returned but not stored. Entries also expire after {@code ttl}, which
+ * bounds how long profile and leave-balance changes (not made through timesheet saves) stay hidden.
+ */
+@Component
+public class MonthlySummaryCache {
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${timesheet.monthly-summary.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${timesheet.monthly-summary.cache.max-size:120}")
+    private long maxSize;
+
+    @Value("${timesheet.monthly-summary.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<MonthKey, MonthlySummaryResult> cache;
+    private SingleFlight<MonthKey, MonthlySummaryResult> flight;
+
+    // Bumped on every invalidation; a computation only stores its result if no invalidation happened meanwhile
+    private final AtomicLong generation = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlySummaryCache.class);
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "timesheet.monthlySummary");
+        }
+        flight = new SingleFlight<>("timesheet.monthlySummary", meterRegistry);
+    }
+
+    /**
+     * Cached result for the range, computing (once across concurrent callers) on a miss.
+     */
+    public MonthlySummaryResult get(LocalDate monthStart, LocalDate monthEnd, Supplier<List<EmployeeMonthlyTimesheetDto>> compute) {
+        MonthKey key = new MonthKey(monthStart, monthEnd);
+        if (!enabled) {
+            return toResult(key, compute.get());
+        }
+        MonthlySummaryResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return flight.execute(key, k -> {
+            long startedAt = generation.get();
+            MonthlySummaryResult result = toResult(k, compute.get());
+            if (generation.get() == startedAt) {
+                cache.put(k, result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Evicts the ranges overlapping the timesheets' weeks once the current transaction commits
+     * (immediately when there is none).
+     */
+    public void invalidate(Collection<Timesheet> timesheets) {
+        List<LocalDate[]> weeks = new ArrayList<>();
+        for (Timesheet ts : timesheets) {
+            if (ts.getWeekStartDate() != null) {
+                LocalDate weekEnd = ts.getWeekEndDate() != null ? ts.getWeekEndDate() : ts.getWeekStartDate();
+                weeks.add(new LocalDate[]{ts.getWeekStartDate(), weekEnd});
+            }
+        }
+        if (weeks.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictOverlapping(weeks);
+                }
+            });
+        } else {
+            evictOverlapping(weeks);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void evictOverlapping(List<LocalDate[]> weeks) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> weeks.stream().anyMatch(week ->
+                !week[0].isAfter(key.monthEnd()) && !week[1].isBefore(key.monthStart())));
+    }
+
+    private MonthlySummaryResult toResult(MonthKey key, List<EmployeeMonthlyTimesheetDto> summaries) {
+        return new MonthlySummaryResult(key.monthStart(), key.monthEnd(), summaries, etagOf(key, summaries));
+    }
+
+    private String etagOf(MonthKey key, List<EmployeeMonthlyTimesheetDto> summaries) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(mapper.writeValueAsBytes(summaries)) + "\"";
+        } catch (JsonProcessingException ex) {
+            // Never matches, so clients just get the full response
+            logger.warn("[MonthlySummaryCache] Could not digest summaries for {}: {}", key, ex.getMessage());
+            return "\"" + key.monthStart() + "-" + key.monthEnd() + "-" + System.nanoTime() + "\"";
+        }
+    }
+
+    private record MonthKey(LocalDate monthStart, LocalDate monthEnd) {}
+}
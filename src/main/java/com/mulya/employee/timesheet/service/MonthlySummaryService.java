@@ -0,0 +1,344 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.dto.Week;
+import com.mulya.employee.timesheet.model.EmployeeMonthlySummary;
+import com.mulya.employee.timesheet.model.MonthlySummaryBuild;
+import com.mulya.employee.timesheet.model.Timesheet;
+import com.mulya.employee.timesheet.repository.EmployeeMonthlySummaryRepository;
+import com.mulya.employee.timesheet.repository.MonthlySummaryBuildRepository;
+import com.mulya.employee.timesheet.repository.TimesheetRepository;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly aggregation behind the all-employees monthly summary and its materialized form,
+ * employee_monthly_summary_us (one row per user and calendar month).
+ * Every timesheet save recomputes the row of the user's month in the same transaction. A month is
+ * built in full once, on first read, and marked in employee_monthly_summary_build_us with
+ * {@link #RULES_VERSION}; from then on reads are pure. After any change to how timesheets are
+ * aggregated ({@link #aggregate}, {@link #calendarWeeks}, status priorities), bump RULES_VERSION
+ * so stored months rebuild, or run POST /admin/monthly-summaries/rebuild, which rebuilds them all.
+ * Stored rows are always computed from the timesheets themselves. Only once timesheet_entry_us is
+ * fully backfilled may {@code timesheet.monthly-summary.push-down.enabled} be switched on, letting
+ * ranges that are not calendar months be summed in the database ({@link #aggregateInDatabase});
+ * a timesheet missing from that table would otherwise count as 0 hours.
+ */
+@Service
+public class MonthlySummaryService {
+
+    @Autowired
+    private EmployeeMonthlySummaryRepository summaryRepository;
+
+    @Autowired
+    private MonthlySummaryBuildRepository buildRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private TimesheetEntryService entryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${timesheet.monthly-summary.materialized.enabled:true}")
+    private boolean materialized;
+
+    @Value("${timesheet.monthly-summary.push-down.enabled:false}")
+    private boolean pushDown;
+
+    // Version of the aggregation rules the stored rows were built with
+    static final int RULES_VERSION = 1;
+
+    static final Map<String, Integer> STATUS_PRIORITY = Map.of(
+            "DRAFT", 1,
+            "PENDING_APPROVAL", 2,
+            "REJECTED", 3,
+            "APPROVED", 4
+    );
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlySummaryService.class);
+
+    /**
+     * Whether [monthStart, monthEnd] is a single calendar month answered from the summary table.
+     */
+    public boolean covers(LocalDate monthStart, LocalDate monthEnd) {
+        return materialized && monthStart.getDayOfMonth() == 1
+                && monthEnd.equals(monthStart.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+
+    /**
+     * Whether ad-hoc ranges may be aggregated over timesheet_entry_us: opted into (after the entries
+     * backfill has completed) and the table is still written on every save.
+     */
+    public boolean isPushDownEnabled() {
+        return pushDown && entryService.isDualWrite();
+    }
+
+    /**
+     * Stored aggregation of every user with timesheets in the month, keyed and sorted by userId.
+     * Only a month not yet built with the current {@link #RULES_VERSION} is (re)built first.
+     */
+    public SortedMap<String, WeeklyAggregate> readMonth(LocalDate monthStart) {
+        Optional<MonthlySummaryBuild> build = buildRepository.findById(monthStart);
+        if (build.map(MonthlySummaryBuild::getRulesVersion).orElse(0) != RULES_VERSION) {
+            logger.info("[MonthlySummary] {} not built with rules version {}, rebuilding", monthStart, RULES_VERSION);
+            rebuildMonth(monthStart);
+        }
+        List<EmployeeMonthlySummary> rows = summaryRepository.findByMonthStartOrderByUserIdAsc(monthStart);
+
+        SortedMap<String, WeeklyAggregate> aggregates = new TreeMap<>();
+        for (EmployeeMonthlySummary row : rows) {
+            aggregates.put(row.getUserId(),
+                    new WeeklyAggregate(row.getWeeklyWorkHours(), row.getWeeklyLeaveHours(), row.getStatus()));
+        }
+        return aggregates;
+    }
+
+    /**
+     * Recomputes the rows of the users and months the timesheets fall in; call in the saving transaction.
+     */
+    @Transactional
+    public void refresh(Collection<Timesheet> timesheets) {
+        if (!materialized) {
+            return;
+        }
+        Set<Pair<String, LocalDate>> userMonths = timesheets.stream()
+                .filter(ts -> ts.getUserId() != null && ts.getWeekStartDate() != null)
+                .map(ts -> Pair.of(ts.getUserId(), ts.getWeekStartDate().withDayOfMonth(1)))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        LocalDateTime now = LocalDateTime.now();
+        for (Pair<String, LocalDate> userMonth : userMonths) {
+            String userId = userMonth.getLeft();
+            LocalDate monthStart = userMonth.getRight();
+            LocalDate monthEnd = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+            WeeklyAggregate aggregate = aggregateLoaded(userId, monthStart, monthEnd);
+            if (aggregate == null) {
+                summaryRepository.deleteByUserIdAndMonthStart(userId, monthStart);
+                continue;
+            }
+            summaryRepository.upsert(toSummary(userId, monthStart, monthEnd, aggregate, now));
+        }
+    }
+
+    private WeeklyAggregate aggregateLoaded(String userId, LocalDate monthStart, LocalDate monthEnd) {
+        List<Timesheet> inMonth = timesheetRepository.findByUserIdAndWeekStartDateBetween(userId, monthStart, monthEnd);
+        return inMonth.isEmpty() ? null : aggregate(inMonth, calendarWeeks(monthStart, monthEnd), monthStart, monthEnd);
+    }
+
+    /**
+     * Rebuilds the rows of one month ({@code month} is any day in it), or of every month that has
+     * timesheets when null, with one transaction per month. Returns the number of rows written.
+     */
+    public int rebuild(LocalDate month) {
+        if (month != null) {
+            return rebuildMonth(month.withDayOfMonth(1));
+        }
+        LocalDate earliest = timesheetRepository.findEarliestWeekStartDate();
+        LocalDate latest = timesheetRepository.findLatestWeekStartDate();
+        if (earliest == null || latest == null) {
+            return 0;
+        }
+        int written = 0;
+        for (LocalDate monthStart = earliest.withDayOfMonth(1); !monthStart.isAfter(latest); monthStart = monthStart.plusMonths(1)) {
+            written += rebuildMonth(monthStart);
+        }
+        logger.info("[MonthlySummaryRebuild] Wrote {} row(s) for {} to {}", written, earliest.withDayOfMonth(1), latest.withDayOfMonth(1));
+        return written;
+    }
+
+    private int rebuildMonth(LocalDate monthStart) {
+        LocalDate monthEnd = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+        Integer written = transactionTemplate.execute(status -> {
+            summaryRepository.deleteByMonthStart(monthStart);
+            Map<String, WeeklyAggregate> aggregates = aggregateLoaded(monthStart, monthEnd);
+            LocalDateTime now = LocalDateTime.now();
+            aggregates.forEach((userId, aggregate) ->
+                    summaryRepository.upsert(toSummary(userId, monthStart, monthEnd, aggregate, now)));
+            MonthlySummaryBuild build = new MonthlySummaryBuild();
+            build.setMonthStart(monthStart);
+            build.setRulesVersion(RULES_VERSION);
+            build.setRowCount(aggregates.size());
+            build.setBuiltAt(now);
+            buildRepository.save(build);
+            return aggregates.size();
+        });
+        logger.info("[MonthlySummaryRebuild] Wrote {} row(s) for {}", written, monthStart);
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Aggregation of every user with timesheets starting in [monthStart, monthEnd], keyed and sorted
+     * by userId, summed in the database; only a few numbers per user and week are transferred.
+     */
+    public SortedMap<String, WeeklyAggregate> aggregateInDatabase(LocalDate monthStart, LocalDate monthEnd) {
+        List<Week> weeks = calendarWeeks(monthStart, monthEnd);
+        List<TimesheetRepository.WeeklyHoursRow> rows =
+                timesheetRepository.sumWeeklyHours(monthStart, monthEnd, weeks.get(0).weekStart);
+
+        Map<String, double[]> workHours = new HashMap<>();
+        Map<String, double[]> leaveHours = new HashMap<>();
+        Map<String, Integer> bestPriority = new HashMap<>();
+        for (TimesheetRepository.WeeklyHoursRow row : rows) {
+            double[] work = workHours.computeIfAbsent(row.getUserId(), id -> new double[weeks.size()]);
+            double[] leave = leaveHours.computeIfAbsent(row.getUserId(), id -> new double[weeks.size()]);
+            int weekIndex = row.getWeekIndex() != null ? row.getWeekIndex().intValue() : -1;
+            if (weekIndex < 0 || weekIndex >= weeks.size()) {
+                // Weekend start dates fall in no week; the user is still listed, as with loaded timesheets
+                logger.warn("Timesheets of {} start outside the Monday-Friday weeks of {} to {}", row.getUserId(), monthStart, monthEnd);
+                continue;
+            }
+            work[weekIndex] += row.getWorkHours() != null ? row.getWorkHours().doubleValue() : 0.0;
+            leave[weekIndex] += row.getLeaveHours() != null ? row.getLeaveHours().doubleValue() : 0.0;
+            if (row.getMinStatusPriority() != null) {
+                bestPriority.merge(row.getUserId(), row.getMinStatusPriority().intValue(), Math::min);
+            }
+        }
+
+        SortedMap<String, WeeklyAggregate> aggregates = new TreeMap<>();
+        workHours.forEach((id, work) -> aggregates.put(id,
+                new WeeklyAggregate(work, leaveHours.get(id), statusOf(bestPriority.get(id)))));
+        return aggregates;
+    }
+
+    private Map<String, WeeklyAggregate> aggregateLoaded(LocalDate monthStart, LocalDate monthEnd) {
+        List<Week> weeks = calendarWeeks(monthStart, monthEnd);
+        Map<String, WeeklyAggregate> aggregates = new HashMap<>();
+        timesheetRepository.findByWeekStartDateBetween(monthStart, monthEnd)
+                .stream()
+                .collect(Collectors.groupingBy(Timesheet::getUserId))
+                .forEach((userId, timesheets) -> aggregates.put(userId, aggregate(timesheets, weeks, monthStart, monthEnd)));
+        return aggregates;
+    }
+
+    private static String statusOf(Integer priority) {
+        if (priority == null) {
+            return "NO_TIMESHEET";
+        }
+        return STATUS_PRIORITY.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(priority))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse("NO_TIMESHEET");
+    }
+
+    /**
+     * Per-week working and leave hours and the aggregated status of one employee's timesheets in
+     * the month. A timesheet belongs to the week containing its weekStartDate; only its entries on
+     * that week's days inside the month are counted.
+     */
+    public WeeklyAggregate aggregate(List<Timesheet> empTimesheets, List<Week> calendarWeeks,
+                                     LocalDate monthStart, LocalDate monthEnd) {
+        // Initialize arrays for weekly aggregation
+        double[] weeklyWorkHours = new double[calendarWeeks.size()];
+        double[] weeklyLeaveHours = new double[calendarWeeks.size()];
+        String[] weeklyStatuses = new String[calendarWeeks.size()];
+        Arrays.fill(weeklyStatuses, "NO_TIMESHEET");
+
+        for (Timesheet ts : empTimesheets) {
+            LocalDate tsDate = ts.getWeekStartDate();
+
+            // Skip timesheets outside requested month still (extra safety)
+            if (tsDate.isBefore(monthStart) || tsDate.isAfter(monthEnd)) {
+                continue;
+            }
+
+            int weekIndex = -1;
+            for (int i = 0; i < calendarWeeks.size(); i++) {
+                Week w = calendarWeeks.get(i);
+                if (!tsDate.isBefore(w.weekStart) && !tsDate.isAfter(w.weekEnd)) {
+                    weekIndex = i;
+                    break;
+                }
+            }
+
+            if (weekIndex == -1) {
+                logger.warn("Timesheet weekStartDate {} not in any week", tsDate);
+                continue;
+            }
+
+            Week currentWeek = calendarWeeks.get(weekIndex);
+
+            // daysInsideMonth is the week's Monday-Friday clipped to the month, i.e. one date range
+            double workHours = 0.0;
+            double leaveHours = 0.0;
+            if (!currentWeek.daysInsideMonth.isEmpty()) {
+                LocalDate daysFrom = currentWeek.daysInsideMonth.get(0);
+                LocalDate daysTo = currentWeek.daysInsideMonth.get(currentWeek.daysInsideMonth.size() - 1);
+                TimesheetEntryService.PeriodTotals totals = entryService.totalsIn(ts, daysFrom, daysTo);
+                workHours = totals.workingHours();
+                leaveHours = totals.leaveHours();
+            }
+
+            weeklyWorkHours[weekIndex] += workHours;
+            weeklyLeaveHours[weekIndex] += leaveHours;
+
+            String tsStatus = ts.getStatus() != null ? ts.getStatus() : "NO_TIMESHEET";
+            if (weeklyStatuses[weekIndex].equals("NO_TIMESHEET") ||
+                    STATUS_PRIORITY.getOrDefault(tsStatus, Integer.MAX_VALUE) < STATUS_PRIORITY.getOrDefault(weeklyStatuses[weekIndex], Integer.MAX_VALUE)) {
+                weeklyStatuses[weekIndex] = tsStatus;
+            }
+        }
+
+        String aggregatedStatus = Arrays.stream(weeklyStatuses)
+                .filter(STATUS_PRIORITY::containsKey)
+                .min(Comparator.comparingInt(STATUS_PRIORITY::get))
+                .orElse("NO_TIMESHEET");
+        return new WeeklyAggregate(weeklyWorkHours, weeklyLeaveHours, aggregatedStatus);
+    }
+
+    /**
+     * Monday-Friday weeks from the Monday on or before monthStart through monthEnd.
+     */
+    public List<Week> calendarWeeks(LocalDate monthStart, LocalDate monthEnd) {
+        List<Week> weeks = new ArrayList<>();
+        LocalDate firstMonday = monthStart;
+        while (firstMonday.getDayOfWeek() != DayOfWeek.MONDAY) {
+            firstMonday = firstMonday.minusDays(1);
+        }
+        LocalDate currentStart = firstMonday;
+        while (!currentStart.isAfter(monthEnd)) {
+            LocalDate currentEnd = currentStart.plusDays(4); // Monday to Friday
+            List<LocalDate> daysInsideMonth = new ArrayList<>();
+            for (LocalDate d = currentStart; !d.isAfter(currentEnd); d = d.plusDays(1)) {
+                if (!d.isBefore(monthStart) && !d.isAfter(monthEnd)) {
+                    daysInsideMonth.add(d);
+                }
+            }
+            weeks.add(new Week(currentStart, currentEnd, daysInsideMonth));
+            currentStart = currentStart.plusWeeks(1);
+        }
+        return weeks;
+    }
+
+    private static EmployeeMonthlySummary toSummary(String userId, LocalDate monthStart, LocalDate monthEnd,
+                                                    WeeklyAggregate aggregate, LocalDateTime now) {
+        EmployeeMonthlySummary summary = new EmployeeMonthlySummary();
+        summary.setUserId(userId);
+        summary.setMonthStart(monthStart);
+        summary.setMonthEnd(monthEnd);
+        summary.setWeeklyWorkHours(aggregate.workHours());
+        summary.setWeeklyLeaveHours(aggregate.leaveHours());
+        summary.setStatus(aggregate.status());
+        summary.setUpdatedAt(now);
+        return summary;
+    }
+
+    /**
+     * Working and leave hours per calendar week (index 0 = week 1) and the aggregated status.
+     */
+    public record WeeklyAggregate(double[] workHours, double[] leaveHours, String status) {}
+}
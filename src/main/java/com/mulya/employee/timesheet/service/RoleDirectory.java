@@ -0,0 +1,159 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.UserDto;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * In-memory role -> users directory backed by the user-register service.
+ * Roles are loaded at startup and refreshed on a schedule; reads are served from memory and a
+ * snapshot older than {@code staleAfter} is returned as-is while a background refresh runs.
+ */
+@Component
+public class RoleDirectory {
+
+    @Autowired
+    private UserRegisterClient userRegisterClient;
+
+    @Autowired
+    @Qualifier("enrichmentExecutor")
+    private Executor refreshExecutor;
+
+    @Value("${timesheet.role-directory.roles:ADMIN}")
+    private List<String> preloadRoles;
+
+    @Value("${timesheet.role-directory.stale-after-seconds:600}")
+    private long staleAfterSeconds;
+
+    private final Map<String, RoleSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleDirectory.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        preloadRoles.forEach(role -> refreshQuietly(role.trim().toUpperCase()));
+    }
+
+    @Scheduled(initialDelayString = "${timesheet.role-directory.refresh-ms:300000}",
+            fixedDelayString = "${timesheet.role-directory.refresh-ms:300000}")
+    public void scheduledRefresh() {
+        knownRoles().forEach(this::refreshAsync);
+    }
+
+    /**
+     * Users holding the role; throws ResourceNotFoundException if none.
+     */
+    public List<UserDto> getUsersByRole(String roleName) {
+        String role = roleName.trim().toUpperCase();
+        RoleSnapshot snapshot = snapshots.get(role);
+        if (snapshot == null) {
+            snapshot = refresh(role);
+        } else if (snapshot.isOlderThan(Duration.ofSeconds(staleAfterSeconds))) {
+            refreshAsync(role);
+        }
+        if (snapshot.users().isEmpty()) {
+            throw new ResourceNotFoundException("No users found with role: " + role, ResourceNotFoundException.ResourceType.USER);
+        }
+        return snapshot.users();
+    }
+
+    /**
+     * First user with the role (the default approver for ADMIN).
+     */
+    public UserDto getFirstUser(String roleName) {
+        return getUsersByRole(roleName).get(0);
+    }
+
+    /**
+     * First user with the role, or empty if there is none or the role could not be loaded.
+     */
+    public Optional<UserDto> findFirstUser(String roleName) {
+        try {
+            return Optional.of(getFirstUser(roleName));
+        } catch (ResourceNotFoundException ex) {
+            return Optional.empty();
+        } catch (RuntimeException ex) {
+            logger.warn("[RoleDirectory] Could not resolve first user for role {}: {}", roleName, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reloads every known role synchronously; returns role -> user count.
+     */
+    public Map<String, Integer> refreshAll() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String role : knownRoles()) {
+            counts.put(role, refresh(role).users().size());
+        }
+        return counts;
+    }
+
+    private Set<String> knownRoles() {
+        Set<String> roles = new LinkedHashSet<>();
+        preloadRoles.forEach(role -> roles.add(role.trim().toUpperCase()));
+        roles.addAll(snapshots.keySet());
+        return roles;
+    }
+
+    private RoleSnapshot refresh(String role) {
+        List<UserDto> users;
+        try {
+            users = List.copyOf(userRegisterClient.getUsersByRole(role));
+        } catch (ResourceNotFoundException ex) {
+            users = List.of();
+        }
+        RoleSnapshot snapshot = new RoleSnapshot(users, Instant.now());
+        snapshots.put(role, snapshot);
+        logger.info("[RoleDirectory] Loaded {} user(s) for role {}", users.size(), role);
+        return snapshot;
+    }
+
+    private void refreshQuietly(String role) {
+        try {
+            refresh(role);
+        } catch (Exception ex) {
+            logger.warn("[RoleDirectory] Could not load role {}: {}", role, ex.getMessage());
+        }
+    }
+
+    private void refreshAsync(String role) {
+        if (!refreshing.add(role)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshQuietly(role);
+                } finally {
+                    refreshing.remove(role);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshing.remove(role);
+            logger.warn("[RoleDirectory] Could not schedule refresh for role {}: {}", role, ex.getMessage());
+        }
+    }
+
+    private record RoleSnapshot(List<UserDto> users, Instant loadedAt) {
+        boolean isOlderThan(Duration age) {
+            return loadedAt.plus(age).isBefore(Instant.now());
+        }
+    }
+}
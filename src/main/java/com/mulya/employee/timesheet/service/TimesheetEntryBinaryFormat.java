@@ -0,0 +1,238 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.dto.TimesheetEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compact binary form of a timesheet entry list (version 1), stored by TimesheetEntryCodec as
+ * {@code PREFIX + base64} so it fits the existing TEXT columns.
+ * <pre>
+ * byte    version (1)
+ * varlong base epoch day (zigzag; the week start, or the first dated entry)
+ * varint  project count, then each project as varint length + UTF-8 bytes
+ * varint  entry count, then per entry:
+ *   varint  date: 0 = none, else zigzag(day - base) + 1
+ *   varint  project: 0 = none, else dictionary index + 1
+ *   byte    hours kind: 0 = none, 1 = quarter hours (zigzag varint follows), 2 = IEEE double (8 bytes)
+ *   varint  description: 0 = none, else UTF-8 length + 1, then the bytes
+ * </pre>
+ * Field names are not repeated, project names are stored once, and hours are lossless.
+ */
+final class TimesheetEntryBinaryFormat {
+
+    static final String PREFIX = "b1:";
+
+    private static final int VERSION = 1;
+    private static final int HOURS_NONE = 0;
+    private static final int HOURS_QUARTERS = 1;
+    private static final int HOURS_DOUBLE = 2;
+
+    private TimesheetEntryBinaryFormat() {
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(long epochDay, double hours);
+    }
+
+    static boolean isBinary(String column) {
+        return column != null && column.startsWith(PREFIX);
+    }
+
+    static String encodeColumn(List<TimesheetEntry> entries, LocalDate base) {
+        return PREFIX + Base64.getEncoder().encodeToString(encode(entries, base));
+    }
+
+    static byte[] decodeColumn(String column) {
+        return Base64.getDecoder().decode(column.substring(PREFIX.length()));
+    }
+
+    static byte[] encode(List<TimesheetEntry> entries, LocalDate base) {
+        List<TimesheetEntry> list = entries != null ? entries : List.of();
+        long baseDay = base != null ? base.toEpochDay() : list.stream()
+                .filter(e -> e != null && e.getDate() != null)
+                .mapToLong(e -> e.getDate().toEpochDay())
+                .findFirst()
+                .orElse(0L);
+
+        Map<String, Integer> projects = new LinkedHashMap<>();
+        for (TimesheetEntry entry : list) {
+            if (entry != null && entry.getProject() != null) {
+                projects.putIfAbsent(entry.getProject(), projects.size());
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + list.size() * 8);
+        out.write(VERSION);
+        writeVarLong(out, zigzag(baseDay));
+        writeVarLong(out, projects.size());
+        for (String project : projects.keySet()) {
+            byte[] bytes = project.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        int count = (int) list.stream().filter(Objects::nonNull).count();
+        writeVarLong(out, count);
+        for (TimesheetEntry entry : list) {
+            if (entry == null) {
+                continue;
+            }
+            writeVarLong(out, entry.getDate() == null ? 0 : zigzag(entry.getDate().toEpochDay() - baseDay) + 1);
+            writeVarLong(out, entry.getProject() == null ? 0 : projects.get(entry.getProject()) + 1);
+
+            Double hours = entry.getHours();
+            if (hours == null) {
+                out.write(HOURS_NONE);
+            } else if (hours * 4 == Math.rint(hours * 4) && Math.abs(hours) < 1_000_000) {
+                out.write(HOURS_QUARTERS);
+                writeVarLong(out, zigzag((long) (hours * 4)));
+            } else {
+                out.write(HOURS_DOUBLE);
+                long bits = Double.doubleToLongBits(hours);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (bits >>> shift) & 0xFF);
+                }
+            }
+
+            if (entry.getDescription() == null) {
+                writeVarLong(out, 0);
+            } else {
+                byte[] bytes = entry.getDescription().getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, bytes.length + 1L);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static List<TimesheetEntry> decode(byte[] data) {
+        List<TimesheetEntry> entries = new ArrayList<>();
+        read(data, true, (epochDay, dated, project, hasHours, hours, description) -> {
+            TimesheetEntry entry = new TimesheetEntry();
+            entry.setDate(dated ? LocalDate.ofEpochDay(epochDay) : null);
+            entry.setProject(project);
+            entry.setHours(hasHours ? hours : null);
+            entry.setDescription(description);
+            entries.add(entry);
+        });
+        return entries;
+    }
+
+    /**
+     * Calls the visitor for every dated entry (hours default to 0) without creating entry objects.
+     */
+    static void forEach(byte[] data, EntryVisitor visitor) {
+        read(data, false, (epochDay, dated, project, hasHours, hours, description) -> {
+            if (dated) {
+                visitor.visit(epochDay, hours);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface EntrySink {
+        void entry(long epochDay, boolean dated, String project, boolean hasHours, double hours, String description);
+    }
+
+    // Strings are only decoded when withText is set
+    private static void read(byte[] data, boolean withText, EntrySink sink) {
+        int[] pos = {0};
+        if (data.length == 0 || data[pos[0]++] != VERSION) {
+            throw new IllegalArgumentException("unsupported entry encoding version");
+        }
+        long baseDay = unzigzag(readVarLong(data, pos));
+
+        int projectCount = checkedCount(readVarLong(data, pos), data.length);
+        String[] projects = new String[projectCount];
+        for (int i = 0; i < projectCount; i++) {
+            int length = checkedCount(readVarLong(data, pos), data.length - pos[0]);
+            projects[i] = withText ? new String(data, pos[0], length, StandardCharsets.UTF_8) : null;
+            pos[0] += length;
+        }
+
+        int entryCount = checkedCount(readVarLong(data, pos), data.length);
+        for (int i = 0; i < entryCount; i++) {
+            long dateCode = readVarLong(data, pos);
+            long projectCode = readVarLong(data, pos);
+            if (projectCode > projectCount) {
+                throw new IllegalArgumentException("project index out of range");
+            }
+
+            double hours = 0.0;
+            int hoursKind = readByte(data, pos);
+            if (hoursKind == HOURS_QUARTERS) {
+                hours = unzigzag(readVarLong(data, pos)) / 4.0;
+            } else if (hoursKind == HOURS_DOUBLE) {
+                long bits = 0;
+                for (int b = 0; b < 8; b++) {
+                    bits = (bits << 8) | readByte(data, pos);
+                }
+                hours = Double.longBitsToDouble(bits);
+            } else if (hoursKind != HOURS_NONE) {
+                throw new IllegalArgumentException("unknown hours kind " + hoursKind);
+            }
+
+            long descriptionCode = readVarLong(data, pos);
+            String description = null;
+            if (descriptionCode > 0) {
+                int length = checkedCount(descriptionCode - 1, data.length - pos[0]);
+                description = withText ? new String(data, pos[0], length, StandardCharsets.UTF_8) : null;
+                pos[0] += length;
+            }
+
+            sink.entry(dateCode == 0 ? 0 : baseDay + unzigzag(dateCode - 1), dateCode != 0,
+                    projectCode == 0 ? null : projects[(int) projectCode - 1],
+                    hoursKind != HOURS_NONE, hours, description);
+        }
+        if (pos[0] != data.length) {
+            throw new IllegalArgumentException("trailing bytes in entry encoding");
+        }
+    }
+
+    private static int checkedCount(long value, int limit) {
+        if (value < 0 || value > limit) {
+            throw new IllegalArgumentException("truncated entry encoding");
+        }
+        return (int) value;
+    }
+
+    private static int readByte(byte[] data, int[] pos) {
+        if (pos[0] >= data.length) {
+            throw new IllegalArgumentException("truncated entry encoding");
+        }
+        return data[pos[0]++] & 0xFF;
+    }
+
+    private static long readVarLong(byte[] data, int[] pos) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(data, pos);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
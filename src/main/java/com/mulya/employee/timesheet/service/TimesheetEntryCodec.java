@@ -0,0 +1,295 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.mulya.employee.timesheet.dto.TimesheetEntry;
+import com.mulya.employee.timesheet.dto.WeekHours;
+import com.mulya.employee.timesheet.model.Timesheet;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the entries stored in Timesheet.workingHours / nonWorkingHours.
+ * A column holds either JSON (read and written with a reader and writer resolved once for
+ * {@code List<TimesheetEntry>}) or the compact {@link TimesheetEntryBinaryFormat}; both are always
+ * readable, and {@code timesheet.entries.storage-format} (json or binary) selects what is written.
+ * Error policy: a missing or blank column reads as no entries; a malformed column is logged
+ * with the timesheet id and also reads as no entries, so one bad row never fails a list or
+ * summary. Writing never yields null; a serialization failure is an IllegalStateException.
+ * {@link WeekHours} is read from the JSON tokens or binary fields directly, without
+ * materializing TimesheetEntry objects.
+ */
+@Component
+public class TimesheetEntryCodec {
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private ObjectReader entriesReader;
+    private ObjectWriter entriesWriter;
+    private JsonFactory jsonFactory;
+
+    @Value("${timesheet.entries.storage-format:json}")
+    private String storageFormat = FORMAT_JSON;
+
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_BINARY = "binary";
+
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    private static final Logger logger = LoggerFactory.getLogger(TimesheetEntryCodec.class);
+
+    public TimesheetEntryCodec() {
+    }
+
+    public TimesheetEntryCodec(ObjectMapper mapper) {
+        this(mapper, FORMAT_JSON);
+    }
+
+    public TimesheetEntryCodec(ObjectMapper mapper, String storageFormat) {
+        this.mapper = mapper;
+        this.storageFormat = storageFormat;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        CollectionType entryListType = mapper.getTypeFactory().constructCollectionType(List.class, TimesheetEntry.class);
+        entriesReader = mapper.readerFor(entryListType);
+        entriesWriter = mapper.writerFor(entryListType);
+        jsonFactory = mapper.getFactory();
+        if (!FORMAT_JSON.equalsIgnoreCase(storageFormat) && !FORMAT_BINARY.equalsIgnoreCase(storageFormat)) {
+            throw new IllegalArgumentException("Unknown timesheet.entries.storage-format: " + storageFormat);
+        }
+    }
+
+    public String getStorageFormat() {
+        return storageFormat.toLowerCase();
+    }
+
+    public List<TimesheetEntry> readWorking(Timesheet ts) {
+        return read(ts.getWorkingHours(), ts.getTimesheetId(), "workingHours");
+    }
+
+    public List<TimesheetEntry> readNonWorking(Timesheet ts) {
+        return read(ts.getNonWorkingHours(), ts.getTimesheetId(), "nonWorkingHours");
+    }
+
+    /**
+     * Entries of one column (JSON or binary) as a mutable list; never null.
+     */
+    public List<TimesheetEntry> read(String json, String timesheetId, String column) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            if (TimesheetEntryBinaryFormat.isBinary(json)) {
+                return TimesheetEntryBinaryFormat.decode(TimesheetEntryBinaryFormat.decodeColumn(json));
+            }
+            List<TimesheetEntry> entries = entriesReader.readValue(json);
+            return entries != null ? entries : new ArrayList<>();
+        } catch (JsonProcessingException e) {
+            logger.warn("Malformed '{}' JSON for Timesheet ID {}: {}", column, timesheetId, e.getOriginalMessage());
+            return new ArrayList<>();
+        } catch (Exception e) {
+            logger.warn("Could not read '{}' JSON for Timesheet ID {}: {}", column, timesheetId, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Column value for the entries in the configured storage format; binary day offsets are
+     * relative to {@code weekStart} (or the first dated entry when it is null).
+     */
+    public String write(List<TimesheetEntry> entries, LocalDate weekStart) {
+        return write(entries, weekStart, storageFormat);
+    }
+
+    public String write(List<TimesheetEntry> entries) {
+        return write(entries, null);
+    }
+
+    /**
+     * Re-encodes one column into {@code format}; null if it already is in that format or cannot be
+     * read (so a migration never overwrites a column it could not decode).
+     */
+    public String convert(String column, LocalDate weekStart, String format, String timesheetId, String columnName) {
+        if (column == null || column.isBlank()
+                || TimesheetEntryBinaryFormat.isBinary(column) == FORMAT_BINARY.equalsIgnoreCase(format)) {
+            return null;
+        }
+        List<TimesheetEntry> entries;
+        try {
+            entries = TimesheetEntryBinaryFormat.isBinary(column)
+                    ? TimesheetEntryBinaryFormat.decode(TimesheetEntryBinaryFormat.decodeColumn(column))
+                    : entriesReader.readValue(column);
+        } catch (Exception e) {
+            logger.warn("Not converting unreadable '{}' for Timesheet ID {}: {}", columnName, timesheetId, e.getMessage());
+            return null;
+        }
+        return write(entries, weekStart, format);
+    }
+
+    private String write(List<TimesheetEntry> entries, LocalDate weekStart, String format) {
+        if (FORMAT_BINARY.equalsIgnoreCase(format)) {
+            return TimesheetEntryBinaryFormat.encodeColumn(entries, weekStart);
+        }
+        try {
+            return entriesWriter.writeValueAsString(entries != null ? entries : List.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing timesheet entries JSON", e);
+        }
+    }
+
+    /**
+     * Working and leave hours of the timesheet by day, read straight from the stored columns.
+     * A malformed column contributes no hours (same policy as {@link #read}).
+     */
+    public WeekHours readHours(Timesheet ts) {
+        WeekHours.Builder builder = WeekHours.builder(ts.getWeekStartDate(), ts.getWeekEndDate());
+        int mark = builder.mark();
+        if (!walk(ts.getWorkingHours(), ts.getTimesheetId(), "workingHours",
+                builder::addWorking)) {
+            builder.resetTo(mark);
+        }
+        mark = builder.mark();
+        if (!walk(ts.getNonWorkingHours(), ts.getTimesheetId(), "nonWorkingHours",
+                builder::addLeave)) {
+            builder.resetTo(mark);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Calls the visitor with (epoch day, hours) for every dated entry of the column; hours default to 0.
+     * Returns false (after logging) if the column is malformed; entries visited so far are not undone.
+     */
+    private boolean walk(String json, String timesheetId, String column, TimesheetEntryBinaryFormat.EntryVisitor visitor) {
+        if (json == null || json.isBlank()) {
+            return true;
+        }
+        if (TimesheetEntryBinaryFormat.isBinary(json)) {
+            try {
+                TimesheetEntryBinaryFormat.forEach(TimesheetEntryBinaryFormat.decodeColumn(json), visitor);
+                return true;
+            } catch (RuntimeException e) {
+                logger.warn("Malformed '{}' binary entries for Timesheet ID {}: {}", column, timesheetId, e.getMessage());
+                return false;
+            }
+        }
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("expected an array of entries");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("unexpected token " + token);
+                }
+                long entryDay = Long.MIN_VALUE;
+                double entryHours = 0.0;
+                String field;
+                while ((field = parser.nextFieldName()) != null) {
+                    JsonToken value = parser.nextToken();
+                    if ("hours".equals(field)) {
+                        entryHours = value.isNumeric() ? parser.getDoubleValue() : 0.0;
+                    } else if ("date".equals(field)) {
+                        entryDay = value == JsonToken.VALUE_STRING ? epochDay(parseDateKey(parser)) : Long.MIN_VALUE;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (entryDay != Long.MIN_VALUE) {
+                    visitor.visit(entryDay, entryHours);
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Malformed '{}' JSON for Timesheet ID {}: {}", column, timesheetId, e.getMessage());
+            return false;
+        }
+    }
+
+    // Entries are written as "yyyy-MM-dd" (TimesheetEntry's @JsonFormat); read in place from the token buffer
+    private static int parseDateKey(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (parser.getTextLength() != 10 || text[offset + 4] != '-' || text[offset + 7] != '-') {
+            throw new IllegalArgumentException("unexpected date format");
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("invalid date");
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static int digits(char[] text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("unexpected date format");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Same arithmetic as LocalDate.toEpochDay for a validated yyyyMMdd key (years 0-9999)
+    static long epochDay(int dateKey) {
+        long year = dateKey / 10000;
+        long month = dateKey / 100 % 100;
+        long day = dateKey % 100;
+        long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear((int) year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    public void writeWorking(Timesheet ts, List<TimesheetEntry> entries) {
+        ts.setWorkingHours(write(entries, ts.getWeekStartDate()));
+    }
+
+    public void writeNonWorking(Timesheet ts, List<TimesheetEntry> entries) {
+        ts.setNonWorkingHours(write(entries, ts.getWeekStartDate()));
+    }
+}
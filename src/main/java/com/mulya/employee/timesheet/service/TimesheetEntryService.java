@@ -0,0 +1,249 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.dto.StorageMigrationDto;
+import com.mulya.employee.timesheet.dto.TimesheetEntry;
+import com.mulya.employee.timesheet.dto.WeekHours;
+import com.mulya.employee.timesheet.model.Timesheet;
+import com.mulya.employee.timesheet.model.TimesheetEntryKind;
+import com.mulya.employee.timesheet.model.TimesheetEntryRecord;
+import com.mulya.employee.timesheet.repository.TimesheetEntryRecordRepository;
+import com.mulya.employee.timesheet.repository.TimesheetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the data derived from the workingHours / nonWorkingHours JSON: the aggregate columns
+ * on Timesheet and timesheet_entry_us, the per-day row form of the entries.
+ * Every timesheet save recomputes the totals and rewrites the timesheet's rows in the same
+ * transaction (dual write); {@link #backfill} and {@link #backfillTotals} migrate timesheets
+ * written before either existed. {@link #migrateStorageFormat} re-encodes the entry columns
+ * between JSON and the binary format while the application keeps serving.
+ */
+@Service
+public class TimesheetEntryService {
+
+    @Autowired
+    private TimesheetEntryRecordRepository entryRecordRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TimesheetEntryCodec entryCodec;
+
+    @Value("${timesheet.entries.dual-write:true}")
+    private boolean dualWrite;
+
+    @Value("${timesheet.entries.backfill-chunk-size:500}")
+    private int backfillChunkSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(TimesheetEntryService.class);
+
+    /**
+     * Recomputes the aggregate columns from the entry JSON; call before saving.
+     */
+    public void applyTotals(Timesheet ts) {
+        WeekHours hours = entryCodec.readHours(ts);
+        ts.setTotalWorkingHours(hours.totalWorkingHours());
+        ts.setTotalLeaveHours(hours.totalLeaveHours());
+        ts.setFullDayLeaveCount(hours.totalFullLeaveDays());
+        ts.setFirstEntryDate(hours.getFirstEntryDate());
+        ts.setLastEntryDate(hours.getLastEntryDate());
+    }
+
+    /**
+     * Working hours, leave hours and full leave days of the entries dated within [from, to].
+     * Answered from the aggregate columns when every entry falls inside the range, otherwise
+     * from the entry JSON.
+     */
+    public PeriodTotals totalsIn(Timesheet ts, LocalDate from, LocalDate to) {
+        if (storedTotalsCover(ts, from, to)) {
+            return new PeriodTotals(ts.getTotalWorkingHours(),
+                    ts.getTotalLeaveHours() != null ? ts.getTotalLeaveHours() : 0.0,
+                    ts.getFullDayLeaveCount() != null ? ts.getFullDayLeaveCount() : 0);
+        }
+        WeekHours hours = entryCodec.readHours(ts);
+        return new PeriodTotals(hours.workingHours(from, to), hours.leaveHours(from, to), hours.fullLeaveDays(from, to));
+    }
+
+    private boolean storedTotalsCover(Timesheet ts, LocalDate from, LocalDate to) {
+        if (ts.getTotalWorkingHours() == null) {
+            return false; // not backfilled yet
+        }
+        if (ts.getFirstEntryDate() == null || ts.getLastEntryDate() == null) {
+            return true; // no entries
+        }
+        return !ts.getFirstEntryDate().isBefore(from) && !ts.getLastEntryDate().isAfter(to);
+    }
+
+    /**
+     * Replaces the stored rows of the timesheets with the entries currently in their JSON columns.
+     */
+    @Transactional
+    public void replaceEntries(Collection<Timesheet> timesheets) {
+        if (!dualWrite || timesheets.isEmpty()) {
+            return;
+        }
+        writeEntries(timesheets);
+    }
+
+    public void replaceEntries(Timesheet timesheet) {
+        replaceEntries(List.of(timesheet));
+    }
+
+    /**
+     * Whether saves keep timesheet_entry_us in step with the entry columns.
+     */
+    public boolean isDualWrite() {
+        return dualWrite;
+    }
+
+    /**
+     * Rewrites the rows of every timesheet, walking timesheets_us by id in chunks of
+     * backfill-chunk-size with one transaction per chunk, so the job can be re-run or resumed
+     * from {@code afterTimesheetId} safely. Returns the number of timesheets migrated.
+     */
+    public int backfill(String afterTimesheetId) {
+        return inChunks("EntryBackfill", afterTimesheetId,
+                cursor -> timesheetRepository.findByTimesheetIdGreaterThanOrderByTimesheetIdAsc(cursor, chunk()),
+                this::writeEntries);
+    }
+
+    /**
+     * Fills the aggregate columns of timesheets that do not have them yet, in chunks of
+     * backfill-chunk-size with one transaction per chunk. Returns the number of timesheets updated.
+     */
+    public int backfillTotals(String afterTimesheetId) {
+        return inChunks("TotalsBackfill", afterTimesheetId,
+                cursor -> timesheetRepository.findByTotalWorkingHoursIsNullAndTimesheetIdGreaterThanOrderByTimesheetIdAsc(cursor, chunk()),
+                timesheets -> timesheets.forEach(ts -> {
+                    // The loaded entities stay untouched so the flush does not bump updatedAt
+                    WeekHours hours = entryCodec.readHours(ts);
+                    timesheetRepository.updateTotals(ts.getTimesheetId(), hours.totalWorkingHours(), hours.totalLeaveHours(),
+                            hours.totalFullLeaveDays(), hours.getFirstEntryDate(), hours.getLastEntryDate());
+                }));
+    }
+
+    /**
+     * Re-encodes the entry columns of every timesheet not yet in {@code format} (json or binary),
+     * in chunks with one transaction per chunk. Each row is rewritten only if it is unchanged since
+     * it was read, so concurrent saves win; re-running the job picks up anything skipped.
+     */
+    public StorageMigrationDto migrateStorageFormat(String format, String afterTimesheetId) {
+        String target = format != null && !format.isBlank() ? format.toLowerCase() : entryCodec.getStorageFormat();
+        if (!TimesheetEntryCodec.FORMAT_JSON.equals(target) && !TimesheetEntryCodec.FORMAT_BINARY.equals(target)) {
+            throw new IllegalArgumentException("Unknown storage format: " + format);
+        }
+        StorageMigrationDto result = new StorageMigrationDto(target);
+        int scanned = inChunks("StorageMigration", afterTimesheetId,
+                cursor -> timesheetRepository.findByTimesheetIdGreaterThanOrderByTimesheetIdAsc(cursor, chunk()),
+                timesheets -> timesheets.forEach(ts -> convertColumns(ts, target, result)));
+        result.setTimesheetsScanned(scanned);
+        logger.info("[StorageMigration] {} of {} timesheet(s) converted to {}, {} -> {} bytes ({} saved per row)",
+                result.getTimesheetsConverted(), scanned, target, result.getBytesBefore(), result.getBytesAfter(),
+                String.format("%.1f", result.getBytesSavedPerRow()));
+        return result;
+    }
+
+    private void convertColumns(Timesheet ts, String format, StorageMigrationDto result) {
+        String working = entryCodec.convert(ts.getWorkingHours(), ts.getWeekStartDate(), format,
+                ts.getTimesheetId(), "workingHours");
+        String nonWorking = entryCodec.convert(ts.getNonWorkingHours(), ts.getWeekStartDate(), format,
+                ts.getTimesheetId(), "nonWorkingHours");
+        if (working == null && nonWorking == null) {
+            return;
+        }
+        String newWorking = working != null ? working : ts.getWorkingHours();
+        String newNonWorking = nonWorking != null ? nonWorking : ts.getNonWorkingHours();
+        // Bulk update on the loaded values, so the entity itself stays clean and updatedAt is kept
+        int updated = timesheetRepository.replaceEntryColumns(ts.getTimesheetId(), newWorking, newNonWorking,
+                ts.getWorkingHours(), ts.getNonWorkingHours());
+        if (updated == 1) {
+            result.setTimesheetsConverted(result.getTimesheetsConverted() + 1);
+            result.setBytesBefore(result.getBytesBefore() + bytes(ts.getWorkingHours()) + bytes(ts.getNonWorkingHours()));
+            result.setBytesAfter(result.getBytesAfter() + bytes(newWorking) + bytes(newNonWorking));
+        }
+    }
+
+    private static long bytes(String column) {
+        return column == null ? 0 : column.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private int inChunks(String job, String afterTimesheetId, Function<String, List<Timesheet>> nextChunk,
+                         Consumer<List<Timesheet>> action) {
+        String cursor = afterTimesheetId != null ? afterTimesheetId : "";
+        int migrated = 0;
+        while (true) {
+            String from = cursor;
+            List<Timesheet> chunk = transactionTemplate.execute(status -> {
+                List<Timesheet> timesheets = nextChunk.apply(from);
+                action.accept(timesheets);
+                return timesheets;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            migrated += chunk.size();
+            cursor = chunk.get(chunk.size() - 1).getTimesheetId();
+            logger.info("[{}] Migrated {} timesheet(s), last id {}", job, migrated, cursor);
+        }
+        return migrated;
+    }
+
+    private PageRequest chunk() {
+        return PageRequest.of(0, Math.max(1, backfillChunkSize));
+    }
+
+    private void writeEntries(Collection<Timesheet> timesheets) {
+        List<String> timesheetIds = timesheets.stream()
+                .map(Timesheet::getTimesheetId)
+                .collect(Collectors.toList());
+        entryRecordRepository.deleteByTimesheetIdIn(timesheetIds);
+
+        List<TimesheetEntryRecord> records = new ArrayList<>();
+        for (Timesheet ts : timesheets) {
+            addRecords(records, ts, entryCodec.readWorking(ts), TimesheetEntryKind.WORKING);
+            addRecords(records, ts, entryCodec.readNonWorking(ts), TimesheetEntryKind.NON_WORKING);
+        }
+        entryRecordRepository.saveAll(records);
+    }
+
+    private void addRecords(List<TimesheetEntryRecord> records, Timesheet ts, List<TimesheetEntry> entries,
+                            TimesheetEntryKind kind) {
+        for (TimesheetEntry entry : entries) {
+            // Entries without a date cannot be attributed to a day and are ignored by every calculation
+            if (entry == null || entry.getDate() == null) {
+                continue;
+            }
+            TimesheetEntryRecord record = new TimesheetEntryRecord();
+            record.setTimesheetId(ts.getTimesheetId());
+            record.setUserId(ts.getUserId());
+            record.setEntryDate(entry.getDate());
+            record.setKind(kind);
+            record.setProject(entry.getProject());
+            record.setHours(entry.getHours());
+            record.setDescription(entry.getDescription());
+            records.add(record);
+        }
+    }
+
+    public record PeriodTotals(double workingHours, double leaveHours, int fullLeaveDays) {}
+}
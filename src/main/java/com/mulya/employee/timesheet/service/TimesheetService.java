@@ -1,7 +1,5 @@
 package com.mulya.employee.timesheet.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mulya.employee.timesheet.client.CandidateClient;
 import com.mulya.employee.timesheet.client.UserRegisterClient;
 import com.mulya.employee.timesheet.dto.*;
@@ -14,21 +12,31 @@ import com.mulya.employee.timesheet.model.TimesheetType;
 import com.mulya.employee.timesheet.repository.AttachmentRepository;
 import com.mulya.employee.timesheet.repository.EmployeeLeaveSummaryRepository;
 import com.mulya.employee.timesheet.repository.TimesheetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
@@ -46,9 +54,6 @@ public class TimesheetService {
     @Autowired
     private EmailService emailService;
 
-    @Autowired
-    private ObjectMapper mapper;
-
     @Autowired
     private AttachmentRepository attachmentRepository;
 
@@ -58,13 +63,52 @@ public class TimesheetService {
     @Autowired
     private EmployeeLeaveSummaryRepository employeeLeaveSummaryRepository;
 
+    @Autowired
+    private EmployeeEnrichmentService enrichmentService;
+
+    @Autowired
+    private RoleDirectory roleDirectory;
+
+    @Autowired
+    private EmployeeProfileService profileService;
+
+    @Autowired
+    private EmployeeContext employeeContext;
+
+    @Autowired
+    private TimesheetEntryService entryService;
+
+    @Autowired
+    private TimesheetEntryCodec entryCodec;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private MonthlySummaryCache summaryCache;
+
+    @Autowired
+    @Qualifier("summaryExecutor")
+    private Executor summaryExecutor;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${timesheet.monthly-summary.parallel.enabled:true}")
+    private boolean summaryParallelEnabled;
+
+    @Value("${timesheet.monthly-summary.partition-size:50}")
+    private int summaryPartitionSize;
+
     private static final Logger logger = LoggerFactory.getLogger(TimesheetService.class);
 
 
     @Transactional
     public List<Timesheet> createTimesheet(String userId, TimesheetRequest req) {
         Map<String, String> errors = new HashMap<>();
-        UserDto user = userRegisterClient.getUserById(userId);
+        // Name, email and placements load concurrently while the user record is fetched
+        EmployeeContext employee = employeeContext().prefetch(userId);
+        UserDto user = employee.getUser(userId);
         if (user == null) {
             errors.put("userId", "User not found: " + userId);
             throw new ValidationException(errors);
@@ -72,7 +116,7 @@ public class TimesheetService {
 
         String employeeWorkingType;
         try {
-            employeeWorkingType = fetchEmployeeWorkingTypeFromPlacements(userId);
+            employeeWorkingType = fetchEmployeeWorkingTypeFromPlacements(employee, userId, req.getDate());
         } catch (Exception e) {
             employeeWorkingType = "WEEKLY";
             logger.warn("Could not fetch employee working type for userId {}: {}", userId, e.getMessage());
@@ -108,20 +152,12 @@ public class TimesheetService {
         List<TimesheetEntry> newWorkingEntries = req.getWorkingEntries();
         List<TimesheetEntry> newNonWorkingEntries = req.getNonWorkingEntries();
 
-        String employeeEmail = userRegisterClient.getUserEmail(userId);
-        String fullEmployeeType = "Unknown";
+        String employeeEmail = employee.getEmail(userId);
         boolean isFullTime = false;
         if (employeeEmail != null && !employeeEmail.isBlank()) {
-            try {
-                List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(employeeEmail);
-                if (placements != null && !placements.isEmpty()) {
-                    fullEmployeeType = placements.get(0).getEmployeeType();
-                }
-            } catch (Exception ex) {
-                logger.warn("Could not fetch placement data for email {}: {}", employeeEmail, ex.getMessage());
-            }
+            // Placement in effect on the submitted date, not simply the first one listed
+            isFullTime = employee.isFullTime(userId, submitDate);
         }
-        isFullTime = "Full-time".equalsIgnoreCase(fullEmployeeType);
 
         List<Timesheet> savedTimesheets = new ArrayList<>();
 
@@ -158,18 +194,8 @@ public class TimesheetService {
                     });
 
             // Deserialize existing entries
-            List<TimesheetEntry> currentWorkingHours;
-            List<TimesheetEntry> currentNonWorkingHours;
-            try {
-                currentWorkingHours = mapper.readValue(ts.getWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-            } catch (Exception e) {
-                currentWorkingHours = new ArrayList<>();
-            }
-            try {
-                currentNonWorkingHours = mapper.readValue(ts.getNonWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-            } catch (Exception e) {
-                currentNonWorkingHours = new ArrayList<>();
-            }
+            List<TimesheetEntry> currentWorkingHours = entryCodec.readWorking(ts);
+            List<TimesheetEntry> currentNonWorkingHours = entryCodec.readNonWorking(ts);
 
             // Remove replaced working entries for dates in segment and merge segment entries
             Set<LocalDate> segmentWorkingDates = segmentWorkingEntries.stream()
@@ -199,12 +225,8 @@ public class TimesheetService {
             currentNonWorkingHours.removeIf(entry -> newWorkingDates.contains(entry.getDate()) && entry.getHours() == 8.0);
 
             // Serialize updated entries back
-            try {
-                ts.setWorkingHours(mapper.writeValueAsString(currentWorkingHours));
-                ts.setNonWorkingHours(mapper.writeValueAsString(currentNonWorkingHours));
-            } catch (Exception e) {
-                throw new RuntimeException("Error serializing working/non-working hours JSON", e);
-            }
+            entryCodec.writeWorking(ts, currentWorkingHours);
+            entryCodec.writeNonWorking(ts, currentNonWorkingHours);
 
             // Calculate working days & target hours for partial segment
             int segmentWorkingDays = 0;
@@ -219,14 +241,9 @@ public class TimesheetService {
             double targetHours = segmentWorkingDays * 8.0;
 
             // Calculate effective working hours within this segment
-            double totalWorkingHours = currentWorkingHours.stream()
-                    .filter(e -> !e.getDate().isBefore(partialStart) && !e.getDate().isAfter(partialEnd))
-                    .mapToDouble(TimesheetEntry::getHours)
-                    .sum();
-            double totalNonWorkingHours = currentNonWorkingHours.stream()
-                    .filter(e -> !e.getDate().isBefore(partialStart) && !e.getDate().isAfter(partialEnd))
-                    .mapToDouble(TimesheetEntry::getHours)
-                    .sum();
+            WeekHours segmentHours = WeekHours.of(partialStart, partialEnd, currentWorkingHours, currentNonWorkingHours);
+            double totalWorkingHours = segmentHours.workingHours(partialStart, partialEnd);
+            double totalNonWorkingHours = segmentHours.leaveHours(partialStart, partialEnd);
 
             double effectiveWorkingHours = totalWorkingHours + (isFullTime ? totalNonWorkingHours : 0.0);
             double percentageOfTarget = targetHours == 0 ? 0 : (effectiveWorkingHours / targetHours) * 100;
@@ -244,9 +261,10 @@ public class TimesheetService {
                 }
             }
 
-            savedTimesheets.add(timesheetRepository.save(ts));
+            savedTimesheets.add(persist(ts));
         }
 
+        profileService.refreshAsync(userId);
         return savedTimesheets;
     }
 
@@ -267,21 +285,21 @@ public class TimesheetService {
 
 
 
-    private String fetchEmployeeWorkingTypeFromPlacements(String userId) throws Exception {
+    private String fetchEmployeeWorkingTypeFromPlacements(EmployeeContext employee, String userId, LocalDate date) throws Exception {
         // 1. Get employee email by userID
-        String email = userRegisterClient.getUserEmail(userId);
+        String email = employee.getEmail(userId);
         if (email == null || email.isBlank()) {
             throw new Exception("User email not found for userId: " + userId);
         }
 
         // 2. Fetch placements by email
-        List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(email);
-        if (placements == null || placements.isEmpty()) {
+        PlacementTimeline timeline = employee.getTimeline(userId);
+        if (timeline.isEmpty()) {
             throw new Exception("No placements found for email: " + email);
         }
 
-        // 3. Extract employee working type from first placement (adjust logic if multiple)
-        String employeeWorkingType = placements.get(0).getEmployeeWorkingType();
+        // 3. Extract employee working type from the placement in effect on the date
+        String employeeWorkingType = timeline.placementOn(date).getEmployeeWorkingType();
         if (employeeWorkingType == null || employeeWorkingType.isBlank()) {
             throw new Exception("Employee working type not set in placement for email: " + email);
         }
@@ -319,18 +337,14 @@ public class TimesheetService {
         ts.setEmployeeType(employeeType);
         ts.setStatus("APPROVED");
 
-        try {
-            // Serialize working and non-working entries separately
-            ts.setWorkingHours(mapper.writeValueAsString(req.getWorkingEntries()));
-            ts.setNonWorkingHours(mapper.writeValueAsString(req.getNonWorkingEntries()));
-        } catch (Exception e) {
-            throw new RuntimeException("Error serializing working/non-working entries JSON", e);
-        }
+        // Serialize working and non-working entries separately
+        entryCodec.writeWorking(ts, req.getWorkingEntries());
+        entryCodec.writeNonWorking(ts, req.getNonWorkingEntries());
 
         ts.setPercentageOfTarget((totalWorkingHours / 8.0) * 100);
         ts.setNotes(req.getNotes());
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
     }
 
 
@@ -340,7 +354,7 @@ public class TimesheetService {
                 .orElseThrow(() -> new IllegalArgumentException("No timesheet found for this week"));
         ts.setStatus("PENDING_APPROVAL");
 
-        UserDto managerDto = userRegisterClient.getUsersByRole("ADMIN")
+        UserDto managerDto = roleDirectory.getUsersByRole("ADMIN")
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("No ADMIN manager"));
@@ -356,7 +370,8 @@ public class TimesheetService {
                 empInfo.getUserName()
         );
 
-        return timesheetRepository.save(ts);
+        profileService.refreshAsync(ts.getUserId());
+        return persist(ts);
     }
 
     @Transactional
@@ -372,7 +387,7 @@ public class TimesheetService {
             throw new IllegalArgumentException("No timesheets found overlapping the month " + monthStartDate);
         }
 
-        UserDto managerDto = userRegisterClient.getUsersByRole("ADMIN")
+        UserDto managerDto = roleDirectory.getUsersByRole("ADMIN")
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("No ADMIN manager"));
@@ -391,7 +406,8 @@ public class TimesheetService {
             );
         }
 
-        return timesheetRepository.saveAll(timesheets);
+        profileService.refreshAsync(userId);
+        return persistAll(timesheets);
     }
 
 
@@ -404,7 +420,7 @@ public class TimesheetService {
         ts.setApprovedAt(LocalDateTime.now());
 
         // Fetch manager info
-        UserInfoDto managerInfo = userRegisterClient.getUserInfos(managerUserId).get(0);
+        UserInfoDto managerInfo = userRegisterClient.getUserInfosOrThrow(managerUserId).get(0);
         if (managerInfo.getUserName() == null) {
             throw new IllegalStateException("Manager name not found for " + managerUserId);
         }
@@ -412,7 +428,7 @@ public class TimesheetService {
 
         // Fetch employee email
         String empEmail = userRegisterClient.getUserEmail(ts.getUserId());
-        UserInfoDto empInfo = userRegisterClient.getUserInfos(ts.getUserId()).get(0);
+        UserInfoDto empInfo = userRegisterClient.getUserInfosOrThrow(ts.getUserId()).get(0);
 
         emailService.sendEmployeeApprovalEmail(
                 empEmail,
@@ -421,7 +437,7 @@ public class TimesheetService {
                 ts.getWeekEndDate().toString()
         );
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
     }
 
 
@@ -435,11 +451,14 @@ public class TimesheetService {
         ts.setApprovedAt(LocalDateTime.now());
 
         // Lookup manager info
-        UserInfoDto managerInfo = userRegisterClient.getUserInfos(managerUserId).get(0);
+        UserInfoDto managerInfo = userRegisterClient.getUserInfosOrThrow(managerUserId).get(0);
+        if (managerInfo.getUserName() == null) {
+            throw new IllegalStateException("Manager name not found for " + managerUserId);
+        }
         ts.setApprovedBy(managerInfo.getUserName());
 
         // Lookup employee info
-        UserInfoDto empInfo = userRegisterClient.getUserInfos(ts.getUserId()).get(0);
+        UserInfoDto empInfo = userRegisterClient.getUserInfosOrThrow(ts.getUserId()).get(0);
         String empEmail = userRegisterClient.getUserEmail(ts.getUserId());
 
         // Send employee rejection notification
@@ -451,7 +470,7 @@ public class TimesheetService {
                 reason
         );
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
     }
 
     @Transactional
@@ -462,7 +481,7 @@ public class TimesheetService {
             throw new IllegalArgumentException("No timesheets found overlapping the month");
         }
 
-        UserInfoDto managerInfo = userRegisterClient.getUserInfos(managerUserId).get(0);
+        UserInfoDto managerInfo = userRegisterClient.getUserInfosOrThrow(managerUserId).get(0);
         if (managerInfo.getUserName() == null) {
             throw new IllegalStateException("Manager name not found for " + managerUserId);
         }
@@ -473,11 +492,11 @@ public class TimesheetService {
             ts.setApprovedBy(managerInfo.getUserName());
         }
 
-        Timesheet savedTimesheets = timesheetRepository.saveAll(timesheets).get(0);
+        Timesheet savedTimesheets = persistAll(timesheets).get(0);
         // Just fetch one to get user info - they are all for same user
 
         // Send single consolidated monthly approval email
-        UserInfoDto empInfo = userRegisterClient.getUserInfos(userId).get(0);
+        UserInfoDto empInfo = userRegisterClient.getUserInfosOrThrow(userId).get(0);
         String empEmail = userRegisterClient.getUserEmail(userId);
         String monthStartStr = monthStart.toString();
         String monthEndStr = monthEnd.toString();
@@ -501,7 +520,7 @@ public class TimesheetService {
             throw new IllegalArgumentException("No timesheets found overlapping the month");
         }
 
-        UserInfoDto managerInfo = userRegisterClient.getUserInfos(managerUserId).get(0);
+        UserInfoDto managerInfo = userRegisterClient.getUserInfosOrThrow(managerUserId).get(0);
         if (managerInfo.getUserName() == null) {
             throw new IllegalStateException("Manager name not found for " + managerUserId);
         }
@@ -512,10 +531,10 @@ public class TimesheetService {
             ts.setApprovedBy(managerInfo.getUserName());
         }
 
-        timesheetRepository.saveAll(timesheets);
+        persistAll(timesheets);
 
         // Send a single consolidated rejection email
-        UserInfoDto empInfo = userRegisterClient.getUserInfos(userId).get(0);
+        UserInfoDto empInfo = userRegisterClient.getUserInfosOrThrow(userId).get(0);
         String empEmail = userRegisterClient.getUserEmail(userId);
         String monthStartStr = monthStart.toString();
         String monthEndStr = monthEnd.toString();
@@ -534,16 +553,13 @@ public class TimesheetService {
 
     public Page<TimesheetApprovalDto> getTimesheetsByStatus(String status, String managerUserId, Pageable pageable) {
         Page<Timesheet> timesheetPage = timesheetRepository.findByStatus(status, pageable);
-        return timesheetPage.map(ts -> toApprovalDto(ts, managerUserId));
+        Map<String, EmployeeEnrichment> employees = resolveEmployees(timesheetPage.getContent(), managerUserId);
+        return timesheetPage.map(ts -> toApprovalDto(ts, managerUserId, employees));
     }
 
     public String getDefaultManagerUserId() {
         // Example: return the first user with "ACCOUNTS" role
-        return userRegisterClient.getUsersByRole("ADMIN")
-                .stream()
-                .findFirst()
-                .map(UserDto::getUserId)
-                .orElse(null);
+        return roleDirectory.findFirstUser("ADMIN").map(UserDto::getUserId).orElse(null);
     }
 
 
@@ -558,24 +574,40 @@ public class TimesheetService {
         dto.setWeekStartDate(ts.getWeekStartDate());
         dto.setWeekEndDate(ts.getWeekEndDate());
         dto.setStatus(ts.getStatus());
+        dto.setTotalWorkingHours(ts.getTotalWorkingHours());
+        dto.setTotalLeaveHours(ts.getTotalLeaveHours());
 
-        List<UserInfoDto> userInfoList = userRegisterClient.getUserInfos(ts.getUserId());
-        dto.setEmployeeName(userInfoList.isEmpty() ? "Unknown" : userInfoList.get(0).getUserName());
+        dto.setEmployeeName(employeeContext().getEmployeeName(ts.getUserId()));
 
         return dto;
     }
 
+    // The request-scoped context outside of a web request (jobs, executor threads) is per call
+    private EmployeeContext employeeContext() {
+        return RequestContextHolder.getRequestAttributes() != null
+                ? employeeContext
+                : new EmployeeContext(userRegisterClient, candidateClient);
+    }
+
     public TimesheetApprovalDto toApprovalDto(Timesheet ts, String managerUserId) {
+        return toApprovalDto(ts, managerUserId, resolveEmployees(List.of(ts), managerUserId));
+    }
+
+    public List<TimesheetApprovalDto> toApprovalDtos(List<Timesheet> timesheets, String managerUserId) {
+        Map<String, EmployeeEnrichment> employees = resolveEmployees(timesheets, managerUserId);
+        return timesheets.stream()
+                .map(ts -> toApprovalDto(ts, managerUserId, employees))
+                .collect(Collectors.toList());
+    }
+
+    private TimesheetApprovalDto toApprovalDto(Timesheet ts, String managerUserId, Map<String, EmployeeEnrichment> employees) {
         TimesheetApprovalDto dto = new TimesheetApprovalDto();
         dto.setTimesheetId(ts.getTimesheetId());
         dto.setUserId(ts.getUserId());
-
-        List<UserInfoDto> userInfoList = userRegisterClient.getUserInfos(ts.getUserId());
-        dto.setEmployeeName(userInfoList.isEmpty() ? "Unknown" : userInfoList.get(0).getUserName());
+        dto.setEmployeeName(userNameOf(employees, ts.getUserId()));
 
         dto.setApproveId(managerUserId);
-        List<UserInfoDto> managerInfoList = userRegisterClient.getUserInfos(managerUserId);
-        dto.setApprovedBy(managerInfoList.isEmpty() ? "Unknown" : managerInfoList.get(0).getUserName());
+        dto.setApprovedBy(userNameOf(employees, managerUserId));
 
         dto.setWeekStartDate(ts.getWeekStartDate());
         dto.setWeekEndDate(ts.getWeekEndDate());
@@ -585,19 +617,41 @@ public class TimesheetService {
     }
 
 
+    // Resolves every employee (and the manager) a response needs from the local profile projection
+    private Map<String, EmployeeEnrichment> resolveEmployees(Collection<Timesheet> timesheets, String... extraUserIds) {
+        Set<String> userIds = userIdsOf(timesheets);
+        for (String extra : extraUserIds) {
+            if (extra != null) userIds.add(extra);
+        }
+        return profileService.getProfiles(userIds);
+    }
+
+    private String userNameOf(Map<String, EmployeeEnrichment> employees, String userId) {
+        EmployeeEnrichment employee = userId == null ? null : employees.get(userId);
+        return employee == null || employee.getEmployeeName() == null ? "Unknown" : employee.getEmployeeName();
+    }
+
     private double calculateTotalHours(List<TimesheetEntry> entries) {
         if (entries == null || entries.isEmpty()) {
             throw new IllegalArgumentException("Entries cannot be empty");
         }
-        return entries.stream().mapToDouble(TimesheetEntry::getHours).sum();
+        // Summed directly: request entries may be undated, which WeekHours would drop
+        return entries.stream().mapToDouble(entry -> entry.getHours() == null ? 0.0 : entry.getHours()).sum();
     }
 
     public MonthlyTimesheetResponse getTimesheetsByUserIdAndMonth(String userId, LocalDate monthStart, LocalDate monthEnd) {
         List<Timesheet> timesheets = timesheetRepository.findTimesheetsOverlappingMonth(userId, monthStart, monthEnd);
 
+        // Approver and employee lookups run concurrently; rows are mapped once both are in
+        CompletableFuture<UserInfoDto> approverFuture =
+                enrichmentService.submit(() -> userRegisterClient.getUserRoleAndUsername("ADRTIN189"));
+        Map<String, EmployeeEnrichment> employees = profileService.getProfiles(userIdsOf(timesheets));
+        UserInfoDto approver = enrichmentService.await(approverFuture, null);
+        String approverName = approver == null ? "null" : approver.getUserName();
+
         final double[] totalMonthlyWorkingHours = {0.0};
         List<TimesheetResponse> dtos = timesheets.stream()
-                .map(ts -> mapToResponse(ts, monthStart, monthEnd))
+                .map(ts -> mapToResponse(ts, monthStart, monthEnd, employees.get(ts.getUserId()), approverName))
                 .map(resp -> {
                     // Filter working entries by month
                     resp.setWorkingEntries(resp.getWorkingEntries().stream()
@@ -619,7 +673,7 @@ public class TimesheetService {
                                 .sum();
                         totalMonthlyWorkingHours[0] += sumThisSheet;
                     } catch (Exception ex) {
-                        ex.printStackTrace();
+                        logger.warn("Could not sum working hours for Timesheet ID {}: {}", resp.getTimesheetId(), ex.getMessage());
                     }
 
                     return resp;
@@ -637,9 +691,7 @@ public class TimesheetService {
 
     public List<TimesheetResponse> getAllTimesheetsByUserId(String userId) {
         List<Timesheet> timesheets = timesheetRepository.findByUserId(userId);
-        return timesheets.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(timesheets);
     }
 
     public double calculateProportionalTargetForMonth(
@@ -670,27 +722,10 @@ public class TimesheetService {
 
         double targetHours = workdays * 8.0;
 
-        List<TimesheetEntry> workingEntries;
-        List<TimesheetEntry> nonWorkingEntries;
-        try {
-            workingEntries = mapper.readValue(ts.getWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-            nonWorkingEntries = mapper.readValue(ts.getNonWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-        } catch (Exception e) {
-            e.printStackTrace();
-            return 0.0;
-        }
-
-        // Filter entries in the overlap period
-        List<TimesheetEntry> filteredWorking = workingEntries.stream()
-                .filter(e -> !e.getDate().isBefore(overlapStart) && !e.getDate().isAfter(overlapEnd))
-                .collect(Collectors.toList());
-
-        List<TimesheetEntry> filteredNonWorking = nonWorkingEntries.stream()
-                .filter(e -> !e.getDate().isBefore(overlapStart) && !e.getDate().isAfter(overlapEnd))
-                .collect(Collectors.toList());
-
-        double totalWorkingHours = filteredWorking.stream().mapToDouble(TimesheetEntry::getHours).sum();
-        double totalLeaveHours = filteredNonWorking.stream().mapToDouble(TimesheetEntry::getHours).sum();
+        // Sum entries in the overlap period
+        TimesheetEntryService.PeriodTotals totals = entryService.totalsIn(ts, overlapStart, overlapEnd);
+        double totalWorkingHours = totals.workingHours();
+        double totalLeaveHours = totals.leaveHours();
 
         double effectiveHours = totalWorkingHours + (isFullTime ? totalLeaveHours : 0);
 
@@ -703,82 +738,69 @@ public class TimesheetService {
 
 
     public List<TimesheetResponse> getAllTimesheets() {
-        return timesheetRepository.findAll()
-                .stream()
-                .map(this::mapToResponse) // map entity -> DTO
+        return mapToResponses(timesheetRepository.findAll());
+    }
+
+    // Every distinct user is read from the profile projection up front (the approver is a directory read),
+    // then rows are mapped on the calling thread (lazy attachments stay on the request's session)
+    private List<TimesheetResponse> mapToResponses(List<Timesheet> timesheets) {
+        Map<String, EmployeeEnrichment> employees = profileService.getProfiles(userIdsOf(timesheets));
+        String approverName = roleDirectory.findFirstUser("ADMIN").map(UserDto::getUserName).orElse("null");
+
+        return timesheets.stream()
+                .map(ts -> mapToResponse(ts, employees.get(ts.getUserId()), approverName)) // map entity -> DTO
                 .collect(Collectors.toList());
     }
 
-    private TimesheetResponse mapToResponse(Timesheet ts) {
+    private LocalDate placementDateOf(Timesheet ts) {
+        return ts.getWeekStartDate() != null ? ts.getWeekStartDate() : ts.getTimesheetDate();
+    }
+
+    private Set<String> userIdsOf(Collection<Timesheet> timesheets) {
+        return timesheets.stream()
+                .map(Timesheet::getUserId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private TimesheetResponse mapToResponse(Timesheet ts, EmployeeEnrichment employee, String approverName) {
         System.out.println("Mapping Timesheet ID: " + ts.getTimesheetId() + ", User ID: " + ts.getUserId());
 
-        List<UserInfoDto> userInfos = userRegisterClient.getUserInfos(ts.getUserId());
-        String employeeName = userInfos.isEmpty() ? "Unknown" : userInfos.get(0).getUserName();
-        String employeeEmail = userRegisterClient.getUserEmail(ts.getUserId());
-        UserDto approvalName = userRegisterClient.getUserNameByRole("ADMIN");
-        System.out.println("Employee Name: " + employeeName);
-        System.out.println("Employee Email: " + employeeEmail);
+        if (employee == null) {
+            employee = EmployeeEnrichment.unknown(ts.getUserId());
+        }
 
         TimesheetResponse resp = new TimesheetResponse();
         resp.setTimesheetId(ts.getTimesheetId());
         resp.setUserId(ts.getUserId());
-        resp.setEmployeeName(employeeName);
+        resp.setEmployeeName(employee.getEmployeeName());
         resp.setEmployeeType(ts.getEmployeeType());
 
-        // Fetch timesheetType dynamically from placements:
-        if (employeeEmail != null && !employeeEmail.isBlank()) {
+        // Fetch timesheetType dynamically from the placement in effect for this timesheet:
+        PlacementDetailsDto placement = employee.getPlacementOn(placementDateOf(ts));
+        if (placement != null) {
             try {
-                System.out.println("Calling CandidateClient with email: " + employeeEmail);
-                List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(employeeEmail);
-                System.out.println("Number of placements received: " + (placements == null ? 0 : placements.size()));
-                if (placements != null && !placements.isEmpty()) {
-                    PlacementDetailsDto placement = placements.get(0);
-                    resp.setTimesheetType(TimesheetType.valueOf(placement.getEmployeeWorkingType()));
-                    resp.setStartDate(placement.getStartDate());
-                    resp.setClientName(placement.getClientName());
-                    resp.setEmployeeRoleType(placement.getEmployeeType());
-                    System.out.println("Timesheet employeeType (from entity): " + placement.getEmployeeType());
-                } else {
-                    resp.setTimesheetType(TimesheetType.WEEKLY); // fallback default
-                }
+                resp.setTimesheetType(TimesheetType.valueOf(placement.getEmployeeWorkingType()));
+                resp.setStartDate(placement.getStartDate());
+                resp.setClientName(placement.getClientName());
+                resp.setEmployeeRoleType(placement.getEmployeeType());
             } catch (Exception ex) {
-                System.err.println("Error fetching placement details for email: " + employeeEmail);
-                ex.printStackTrace();
+                logger.warn("Invalid placement working type for email {}: {}", employee.getEmail(), ex.getMessage());
                 resp.setTimesheetType(TimesheetType.WEEKLY);
             }
         } else {
-            resp.setTimesheetType(TimesheetType.WEEKLY);
+            resp.setTimesheetType(TimesheetType.WEEKLY); // fallback default
         }
 
         resp.setTimesheetDate(ts.getTimesheetDate());
         resp.setWeekStartDate(ts.getWeekStartDate());
         resp.setWeekEndDate(ts.getWeekEndDate());
 
-        try {
-            resp.setWorkingEntries(mapper.readValue(
-                    ts.getWorkingHours(),
-                    new TypeReference<List<TimesheetEntry>>() {}
-            ));
-        } catch (Exception e) {
-            System.err.println("❌ Failed to parse 'workingHours' JSON for Timesheet ID: " + ts.getTimesheetId());
-            e.printStackTrace();
-            resp.setWorkingEntries(List.of());
-        }
-
-        try {
-            resp.setNonWorkingEntries(mapper.readValue(
-                    ts.getNonWorkingHours(),
-                    new TypeReference<List<TimesheetEntry>>() {}
-            ));
-        } catch (Exception e) {
-            System.err.println("❌ Failed to parse 'nonWorkingHours' JSON for Timesheet ID: " + ts.getTimesheetId());
-            e.printStackTrace();
-            resp.setNonWorkingEntries(List.of());
-        }
+        resp.setWorkingEntries(entryCodec.readWorking(ts));
+        resp.setNonWorkingEntries(entryCodec.readNonWorking(ts));
 
         resp.setPercentageOfTarget(ts.getPercentageOfTarget());
         resp.setStatus(ts.getStatus());
-        resp.setApprover(approvalName == null ? "null" : approvalName.getUserName());
+        resp.setApprover(approverName);
         resp.setApprovedBy(ts.getApprovedBy());
         resp.setApprovedAt(ts.getApprovedAt());
         resp.setNotes(ts.getNotes());
@@ -801,82 +823,52 @@ public class TimesheetService {
         return resp;
     }
 
-    private TimesheetResponse mapToResponse(Timesheet ts, LocalDate monthStart, LocalDate monthEnd) {
+    private TimesheetResponse mapToResponse(Timesheet ts, LocalDate monthStart, LocalDate monthEnd,
+                                            EmployeeEnrichment employee, String approverName) {
         System.out.println("Mapping Timesheet ID: " + ts.getTimesheetId() + ", User ID: " + ts.getUserId());
 
-        List<UserInfoDto> userInfos = userRegisterClient.getUserInfos(ts.getUserId());
-        String employeeName = userInfos.isEmpty() ? "Unknown" : userInfos.get(0).getUserName();
-        String employeeEmail = userRegisterClient.getUserEmail(ts.getUserId());
-        UserInfoDto approvalName = userRegisterClient.getUserRoleAndUsername("ADRTIN189");
-        System.out.println("Employee Name: " + employeeName);
-        System.out.println("Employee Email: " + employeeEmail);
+        if (employee == null) {
+            employee = EmployeeEnrichment.unknown(ts.getUserId());
+        }
 
         TimesheetResponse resp = new TimesheetResponse();
         resp.setTimesheetId(ts.getTimesheetId());
         resp.setUserId(ts.getUserId());
-        resp.setEmployeeName(employeeName);
+        resp.setEmployeeName(employee.getEmployeeName());
         resp.setEmployeeType(ts.getEmployeeType());
 
         boolean isFullTime = false;
-        // Fetch timesheetType dynamically from placements and determine isFullTime
-        if (employeeEmail != null && !employeeEmail.isBlank()) {
+        // Fetch timesheetType from the placement in effect for this timesheet and determine isFullTime
+        PlacementDetailsDto placement = employee.getPlacementOn(placementDateOf(ts));
+        if (placement != null) {
             try {
-                System.out.println("Calling CandidateClient with email: " + employeeEmail);
-                List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(employeeEmail);
-                System.out.println("Number of placements received: " + (placements == null ? 0 : placements.size()));
-                if (placements != null && !placements.isEmpty()) {
-                    PlacementDetailsDto placement = placements.get(0);
-                    resp.setTimesheetType(TimesheetType.valueOf(placement.getEmployeeWorkingType()));
-                    resp.setStartDate(placement.getStartDate());
-                    resp.setClientName(placement.getClientName());
-                    resp.setEmployeeRoleType(placement.getEmployeeType());
-                    System.out.println("Timesheet employeeType (from entity): " + placement.getEmployeeType());
-
-                    isFullTime = "Full-time".equalsIgnoreCase(placement.getEmployeeType());
-                } else {
-                    resp.setTimesheetType(TimesheetType.WEEKLY); // fallback default
-                }
+                resp.setTimesheetType(TimesheetType.valueOf(placement.getEmployeeWorkingType()));
+                resp.setStartDate(placement.getStartDate());
+                resp.setClientName(placement.getClientName());
+                resp.setEmployeeRoleType(placement.getEmployeeType());
+
+                isFullTime = "Full-time".equalsIgnoreCase(placement.getEmployeeType());
             } catch (Exception ex) {
-                System.err.println("Error fetching placement details for email: " + employeeEmail);
-                ex.printStackTrace();
+                logger.warn("Invalid placement working type for email {}: {}", employee.getEmail(), ex.getMessage());
                 resp.setTimesheetType(TimesheetType.WEEKLY);
             }
         } else {
-            resp.setTimesheetType(TimesheetType.WEEKLY);
+            resp.setTimesheetType(TimesheetType.WEEKLY); // fallback default
         }
 
         resp.setTimesheetDate(ts.getTimesheetDate());
         resp.setWeekStartDate(ts.getWeekStartDate());
         resp.setWeekEndDate(ts.getWeekEndDate());
 
-        try {
-            resp.setWorkingEntries(mapper.readValue(
-                    ts.getWorkingHours(),
-                    new TypeReference<List<TimesheetEntry>>() {}
-            ));
-        } catch (Exception e) {
-            System.err.println("❌ Failed to parse 'workingHours' JSON for Timesheet ID: " + ts.getTimesheetId());
-            e.printStackTrace();
-            resp.setWorkingEntries(List.of());
-        }
-
-        try {
-            resp.setNonWorkingEntries(mapper.readValue(
-                    ts.getNonWorkingHours(),
-                    new TypeReference<List<TimesheetEntry>>() {}
-            ));
-        } catch (Exception e) {
-            System.err.println("❌ Failed to parse 'nonWorkingHours' JSON for Timesheet ID: " + ts.getTimesheetId());
-            e.printStackTrace();
-            resp.setNonWorkingEntries(List.of());
-        }
+        resp.setWorkingEntries(entryCodec.readWorking(ts));
+        resp.setNonWorkingEntries(entryCodec.readNonWorking(ts));
 
         // Now calculate proportional target percentage adjusted for leaves with isFullTime flag
         double proportionalTarget = calculateTargetPercentageAdjustedForLeaves(ts, monthStart, monthEnd, isFullTime);
         resp.setPercentageOfTarget(proportionalTarget);
 
         resp.setStatus(ts.getStatus());
-        resp.setApprover(approvalName == null ? "null" : approvalName.getUserName());
+        resp.setApprover(approverName);
         resp.setApprovedBy(ts.getApprovedBy());
         resp.setApprovedAt(ts.getApprovedAt());
         resp.setNotes(ts.getNotes());
@@ -920,38 +912,15 @@ public class TimesheetService {
             return 0.0;
         }
 
-        List<TimesheetEntry> workingEntries = List.of();
-        List<TimesheetEntry> nonWorkingEntries = List.of();
-
-        try {
-            workingEntries = mapper.readValue(ts.getWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-            nonWorkingEntries = mapper.readValue(ts.getNonWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-        } catch (Exception e) {
-            System.err.println("Failed to parse entries for Timesheet ID: " + ts.getTimesheetId());
-            e.printStackTrace();
-        }
-
         // Count leave days within overlapping period using nonWorking entries with hours == 8
-        long leaveDays = nonWorkingEntries.stream()
-                .filter(e -> {
-                    LocalDate entryDate = e.getDate();
-                    return !entryDate.isBefore(overlapStart)
-                            && !entryDate.isAfter(overlapEnd)
-                            && e.getHours() == 8.0;
-                })
-                .count();
+        TimesheetEntryService.PeriodTotals totals = entryService.totalsIn(ts, overlapStart, overlapEnd);
+        long leaveDays = totals.fullLeaveDays();
 
         long workingDays = overlapDays - leaveDays;
         if (workingDays < 0) workingDays = 0;
 
         // Sum working hours in overlapping period
-        double totalWorkingHours = workingEntries.stream()
-                .filter(e -> {
-                    LocalDate d = e.getDate();
-                    return !d.isBefore(overlapStart) && !d.isAfter(overlapEnd);
-                })
-                .mapToDouble(TimesheetEntry::getHours)
-                .sum();
+        double totalWorkingHours = totals.workingHours();
 
         // Sum leave hours if full time
         double totalLeaveHours = 0;
@@ -987,14 +956,14 @@ public class TimesheetService {
         }
 
         // Serialize working and non-working entries separately
-        ts.setWorkingHours(mapper.writeValueAsString(req.getWorkingEntries()));
-        ts.setNonWorkingHours(mapper.writeValueAsString(req.getNonWorkingEntries()));
+        entryCodec.writeWorking(ts, req.getWorkingEntries());
+        entryCodec.writeNonWorking(ts, req.getNonWorkingEntries());
 
         // Calculate total working hours only
         double totalWorkingHours = calculateTotalHours(req.getWorkingEntries());
         ts.setPercentageOfTarget((totalWorkingHours / 40.0) * 100);
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
     }
 
     @Transactional
@@ -1009,18 +978,8 @@ public class TimesheetService {
         }
 
         // Deserialize current entries
-        List<TimesheetEntry> currentWorkingEntries;
-        List<TimesheetEntry> currentNonWorkingEntries;
-        try {
-            currentWorkingEntries = mapper.readValue(ts.getWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-        } catch (Exception e) {
-            currentWorkingEntries = new ArrayList<>();
-        }
-        try {
-            currentNonWorkingEntries = mapper.readValue(ts.getNonWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-        } catch (Exception e) {
-            currentNonWorkingEntries = new ArrayList<>();
-        }
+        List<TimesheetEntry> currentWorkingEntries = entryCodec.readWorking(ts);
+        List<TimesheetEntry> currentNonWorkingEntries = entryCodec.readNonWorking(ts);
 
         // Update working entries
         mergeEntries(currentWorkingEntries, updatedWorkingEntries);
@@ -1028,11 +987,12 @@ public class TimesheetService {
         // Update non-working entries (leave)
         mergeEntries(currentNonWorkingEntries, updatedNonWorkingEntries);
 
-        ts.setWorkingHours(mapper.writeValueAsString(currentWorkingEntries));
-        ts.setNonWorkingHours(mapper.writeValueAsString(currentNonWorkingEntries));
+        entryCodec.writeWorking(ts, currentWorkingEntries);
+        entryCodec.writeNonWorking(ts, currentNonWorkingEntries);
 
         // === Updated target percentage calculation here ===
-        double totalWorkingHours = currentWorkingEntries.stream().mapToDouble(TimesheetEntry::getHours).sum();
+        double totalWorkingHours = WeekHours.of(ts.getWeekStartDate(), ts.getWeekEndDate(),
+                currentWorkingEntries, currentNonWorkingEntries).totalWorkingHours();
 
         double target;
 
@@ -1057,7 +1017,26 @@ public class TimesheetService {
 
         ts.setPercentageOfTarget((totalWorkingHours / target) * 100);
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
+    }
+
+    // Every timesheet write goes through here so derived data stays in step with the JSON columns
+    private Timesheet persist(Timesheet ts) {
+        entryService.applyTotals(ts);
+        Timesheet saved = timesheetRepository.save(ts);
+        entryService.replaceEntries(saved);
+        monthlySummaryService.refresh(List.of(saved));
+        summaryCache.invalidate(List.of(saved));
+        return saved;
+    }
+
+    private List<Timesheet> persistAll(List<Timesheet> timesheets) {
+        timesheets.forEach(entryService::applyTotals);
+        List<Timesheet> saved = timesheetRepository.saveAll(timesheets);
+        entryService.replaceEntries(saved);
+        monthlySummaryService.refresh(saved);
+        summaryCache.invalidate(saved);
+        return saved;
     }
 
     // Helper method to update existing entries by date or add new entries
@@ -1129,192 +1108,178 @@ public class TimesheetService {
             ts.getAttachments().add(attachment);
         }
 
-        return timesheetRepository.save(ts);
+        return persist(ts);
     }
 
 
-    public List<EmployeeMonthlyTimesheetDto> getAllEmployeesMonthlySummary(LocalDate monthStart, LocalDate monthEnd) throws Exception {
-        logger.info("Fetching timesheets from {} to {}", monthStart, monthEnd);
-
-        // Extend query period to earliest Monday before monthStart for partial weeks if desired,
-        // but here we directly query timesheets within the requested month to exclude outside data:
-        List<Timesheet> timesheets = timesheetRepository.findByWeekStartDateBetween(monthStart, monthEnd);
-
-        Map<String, List<Timesheet>> byUser = timesheets.stream()
-                .collect(Collectors.groupingBy(Timesheet::getUserId));
-
-        List<Week> calendarWeeks = getWeeksMondayToFridayForMonth(monthStart, monthEnd);
+    public List<EmployeeMonthlyTimesheetDto> getAllEmployeesMonthlySummary(LocalDate monthStart, LocalDate monthEnd) {
+        return getMonthlySummaryResult(monthStart, monthEnd).getSummaries();
+    }
 
-        Map<String, Integer> statusPriority = Map.of(
-                "DRAFT", 1,
-                "PENDING_APPROVAL", 2,
-                "REJECTED", 3,
-                "APPROVED", 4
-        );
+    /**
+     * Monthly summary of every employee with its ETag, served from the month-keyed result cache.
+     */
+    public MonthlySummaryResult getMonthlySummaryResult(LocalDate monthStart, LocalDate monthEnd) {
+        return summaryCache.get(monthStart, monthEnd, () -> computeAllEmployeesMonthlySummary(monthStart, monthEnd));
+    }
 
-        Set<String> userIds = byUser.keySet();
+    private List<EmployeeMonthlyTimesheetDto> computeAllEmployeesMonthlySummary(LocalDate monthStart, LocalDate monthEnd) {
+        logger.info("Fetching timesheets from {} to {}", monthStart, monthEnd);
+        long phaseStart = System.nanoTime();
+        List<Week> calendarWeeks = monthlySummaryService.calendarWeeks(monthStart, monthEnd);
+
+        // Both paths order users by userId so the response does not depend on how the work was split
+        List<String> orderedIds;
+        long parseStart = System.nanoTime();
+        List<CompletableFuture<List<MonthlySummaryService.WeeklyAggregate>>> partitions = new ArrayList<>();
+        SortedMap<String, MonthlySummaryService.WeeklyAggregate> precomputed = null;
+        if (monthlySummaryService.covers(monthStart, monthEnd)) {
+            // A calendar month is read from employee_monthly_summary_us, already aggregated
+            precomputed = monthlySummaryService.readMonth(monthStart);
+        } else if (monthlySummaryService.isPushDownEnabled()) {
+            // Other ranges are summed in the database: a few numbers per employee-week instead of the entry LOBs
+            precomputed = monthlySummaryService.aggregateInDatabase(monthStart, monthEnd);
+        }
+        if (precomputed != null) {
+            orderedIds = new ArrayList<>(precomputed.keySet());
+            partitions.add(CompletableFuture.completedFuture(new ArrayList<>(precomputed.values())));
+        } else {
+            // Extend query period to earliest Monday before monthStart for partial weeks if desired,
+            // but here we directly query timesheets within the requested month to exclude outside data:
+            List<Timesheet> timesheets = timesheetRepository.findByWeekStartDateBetween(monthStart, monthEnd);
+            Map<String, List<Timesheet>> byUser = timesheets.stream()
+                    .collect(Collectors.groupingBy(Timesheet::getUserId, TreeMap::new, Collectors.toList()));
+            orderedIds = new ArrayList<>(byUser.keySet());
+            parseStart = System.nanoTime();
+
+            // Entry parsing runs on the summary pool while this thread resolves the employee profiles
+            int partitionSize = summaryParallelEnabled ? Math.max(1, summaryPartitionSize) : Math.max(1, orderedIds.size());
+            for (int from = 0; from < orderedIds.size(); from += partitionSize) {
+                List<String> partition = orderedIds.subList(from, Math.min(from + partitionSize, orderedIds.size()));
+                Supplier<List<MonthlySummaryService.WeeklyAggregate>> aggregate = () -> partition.stream()
+                        .map(userId -> monthlySummaryService.aggregate(byUser.get(userId), calendarWeeks, monthStart, monthEnd))
+                        .collect(Collectors.toList());
+                partitions.add(summaryParallelEnabled
+                        ? CompletableFuture.supplyAsync(aggregate, summaryExecutor)
+                        : CompletableFuture.completedFuture(aggregate.get()));
+            }
+        }
 
         // Bulk fetch leave summaries for users relevant in requested month
-        Map<String, EmployeeLeaveSummary> leaveSummariesMap = employeeLeaveSummaryRepository.findByUserIdIn(userIds)
+        Map<String, EmployeeLeaveSummary> leaveSummariesMap = employeeLeaveSummaryRepository.findByUserIdIn(orderedIds)
                 .stream()
                 .collect(Collectors.toMap(EmployeeLeaveSummary::getUserId, ls -> ls));
+        long fetchNanos = recordSummaryPhase("fetch", phaseStart);
 
-        List<EmployeeMonthlyTimesheetDto> summaries = new ArrayList<>();
-
-        for (Map.Entry<String, List<Timesheet>> entry : byUser.entrySet()) {
-            String userId = entry.getKey();
-            List<Timesheet> empTimesheets = entry.getValue();
-
-            // Initialize arrays for weekly aggregation
-            double[] weeklyWorkHours = new double[calendarWeeks.size()];
-            double[] weeklyLeaveHours = new double[calendarWeeks.size()];
-            String[] weeklyStatuses = new String[calendarWeeks.size()];
-            Arrays.fill(weeklyStatuses, "NO_TIMESHEET");
+        phaseStart = System.nanoTime();
+        Map<String, EmployeeEnrichment> employees = profileService.getProfiles(orderedIds);
+        long enrichNanos = recordSummaryPhase("enrich", phaseStart);
 
-            for (Timesheet ts : empTimesheets) {
-                LocalDate tsDate = ts.getWeekStartDate();
-
-                // Skip timesheets outside requested month still (extra safety)
-                if (tsDate.isBefore(monthStart) || tsDate.isAfter(monthEnd)) {
-                    continue;
-                }
-
-                int weekIndex = -1;
-                for (int i = 0; i < calendarWeeks.size(); i++) {
-                    Week w = calendarWeeks.get(i);
-                    if (!tsDate.isBefore(w.weekStart) && !tsDate.isAfter(w.weekEnd)) {
-                        weekIndex = i;
-                        break;
-                    }
-                }
-
-                if (weekIndex == -1) {
-                    logger.warn("Timesheet weekStartDate {} not in any week", tsDate);
-                    continue;
-                }
-
-                Week currentWeek = calendarWeeks.get(weekIndex);
-
-                List<TimesheetEntry> workingEntries = mapper.readValue(ts.getWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-                List<TimesheetEntry> nonWorkingEntries = mapper.readValue(ts.getNonWorkingHours(), new TypeReference<List<TimesheetEntry>>() {});
-
-                double workHours = workingEntries.stream()
-                        .filter(e -> currentWeek.daysInsideMonth.contains(LocalDate.parse(e.getDate().toString())))
-                        .mapToDouble(TimesheetEntry::getHours)
-                        .sum();
-
-                double leaveHours = nonWorkingEntries.stream()
-                        .filter(e -> currentWeek.daysInsideMonth.contains(LocalDate.parse(e.getDate().toString())))
-                        .mapToDouble(TimesheetEntry::getHours)
-                        .sum();
-
-                weeklyWorkHours[weekIndex] += workHours;
-                weeklyLeaveHours[weekIndex] += leaveHours;
-
-                String tsStatus = ts.getStatus() != null ? ts.getStatus() : "NO_TIMESHEET";
-                if (weeklyStatuses[weekIndex].equals("NO_TIMESHEET") ||
-                        statusPriority.getOrDefault(tsStatus, Integer.MAX_VALUE) < statusPriority.getOrDefault(weeklyStatuses[weekIndex], Integer.MAX_VALUE)) {
-                    weeklyStatuses[weekIndex] = tsStatus;
-                }
+        List<MonthlySummaryService.WeeklyAggregate> aggregates = new ArrayList<>(orderedIds.size());
+        try {
+            for (CompletableFuture<List<MonthlySummaryService.WeeklyAggregate>> partition : partitions) {
+                aggregates.addAll(partition.join());
             }
-
-            String aggregatedStatus = Arrays.stream(weeklyStatuses)
-                    .filter(statusPriority::containsKey)
-                    .min(Comparator.comparingInt(statusPriority::get))
-                    .orElse("NO_TIMESHEET");
-
-            List<UserInfoDto> userInfoList = userRegisterClient.getUserInfos(userId);
-            String employeeName = userInfoList.isEmpty() ? "Unknown" : userInfoList.get(0).getUserName();
-            String employeeEmail = userRegisterClient.getUserEmail(userId);
-
-            String employeeType = "Unknown";
-            LocalDate joiningDate = null;
-            String clientName = null;
-            try {
-                if (employeeEmail != null && !employeeEmail.isBlank()) {
-                    List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(employeeEmail);
-                    if (placements != null && !placements.isEmpty()) {
-                        PlacementDetailsDto placement = placements.get(0);
-                        employeeType = placement.getEmployeeType();
-                        joiningDate = placement.getStartDate();
-                        clientName = placement.getClientName();
-                    }
-                }
-            } catch (ResourceNotFoundException ex) {
-                logger.warn("No placement details found for email {}: {}", employeeEmail, ex.getMessage());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw ex;
+        }
+        long parseNanos = recordSummaryPhase("parse", parseStart);
+
+        phaseStart = System.nanoTime();
+        List<EmployeeMonthlyTimesheetDto> summaries = new ArrayList<>(orderedIds.size());
+        for (int i = 0; i < orderedIds.size(); i++) {
+            String userId = orderedIds.get(i);
+            summaries.add(assembleMonthlySummary(userId, aggregates.get(i), employees.get(userId),
+                    userNameOf(employees, userId), leaveSummariesMap.get(userId), monthStart, monthEnd, calendarWeeks.size()));
+        }
+        long assembleNanos = recordSummaryPhase("assemble", phaseStart);
 
-            double totalWorkingHours = Arrays.stream(weeklyWorkHours).sum();
-            double totalLeaveHours = Arrays.stream(weeklyLeaveHours).sum();
+        logger.info("Completed processing monthly summaries for {} employees (fetch {} ms, parse {} ms, enrich {} ms, assemble {} ms)",
+                summaries.size(), TimeUnit.NANOSECONDS.toMillis(fetchNanos), TimeUnit.NANOSECONDS.toMillis(parseNanos),
+                TimeUnit.NANOSECONDS.toMillis(enrichNanos), TimeUnit.NANOSECONDS.toMillis(assembleNanos));
+        return summaries;
+    }
 
-            EmployeeLeaveSummary leaveSummary = leaveSummariesMap.get(userId);
+    private EmployeeMonthlyTimesheetDto assembleMonthlySummary(String userId, MonthlySummaryService.WeeklyAggregate weeks, EmployeeEnrichment employee,
+                                                               String employeeName, EmployeeLeaveSummary leaveSummary,
+                                                               LocalDate monthStart, LocalDate monthEnd, int weekCount) {
+        // Copies: the leave adjustment below must not leak into the aggregate
+        double[] weeklyWorkHours = weeks.workHours().clone();
+        double[] weeklyLeaveHours = weeks.leaveHours();
+        String aggregatedStatus = weeks.status();
+
+        String employeeType = "Unknown";
+        LocalDate joiningDate = null;
+        String clientName = null;
+        // Attribute the month to the most recent placement active in it
+        PlacementDetailsDto placement = employee == null ? null
+                : employee.getTimeline().latestOverlapping(monthStart, monthEnd);
+        if (placement != null) {
+            employeeType = placement.getEmployeeType();
+            joiningDate = placement.getStartDate();
+            clientName = placement.getClientName();
+        }
 
-            int availableLeaves = leaveSummary != null ? leaveSummary.getAvailableLeaves() : 0;
-            int takenLeaves = leaveSummary != null ? leaveSummary.getTakenLeaves() : 0;
+        double totalWorkingHours = Arrays.stream(weeklyWorkHours).sum();
+        double totalLeaveHours = Arrays.stream(weeklyLeaveHours).sum();
 
-            if (availableLeaves >= 0 && "Full-time".equalsIgnoreCase(employeeType)) {
-                totalWorkingHours += totalLeaveHours;
-                for (int i = 0; i < weeklyWorkHours.length; i++) {
-                    weeklyWorkHours[i] += weeklyLeaveHours[i];
-                }
-            }
+        int availableLeaves = leaveSummary != null ? leaveSummary.getAvailableLeaves() : 0;
+        int takenLeaves = leaveSummary != null ? leaveSummary.getTakenLeaves() : 0;
 
-            EmployeeMonthlyTimesheetDto dto = new EmployeeMonthlyTimesheetDto();
-            dto.setEmployeeId(userId);
-            dto.setEmployeeName(employeeName);
-            dto.setEmployeeType(employeeType);
-            dto.setClientName(clientName);
-            dto.setMonthStartDate(monthStart);
-            dto.setMonthEndDate(monthEnd);
-            dto.setJoiningDate(joiningDate);
-            dto.setStatus(aggregatedStatus);
-
-            dto.setWeek1Hours(calendarWeeks.size() > 0 ? (int) Math.round(weeklyWorkHours[0]) : 0);
-            dto.setWeek2Hours(calendarWeeks.size() > 1 ? (int) Math.round(weeklyWorkHours[1]) : 0);
-            dto.setWeek3Hours(calendarWeeks.size() > 2 ? (int) Math.round(weeklyWorkHours[2]) : 0);
-            dto.setWeek4Hours(calendarWeeks.size() > 3 ? (int) Math.round(weeklyWorkHours[3]) : 0);
-            dto.setWeek5Hours(calendarWeeks.size() > 4 ? (int) Math.round(weeklyWorkHours[4]) : 0);
-
-            dto.setTotalWorkingHours((int) Math.round(totalWorkingHours));
-            dto.setTotalWorkingDays((int) Math.round(totalWorkingHours / 8.0));
-
-            dto.setAvailableLeaves(availableLeaves);
-            dto.setTakenLeaves(takenLeaves);
-
-            summaries.add(dto);
+        if (availableLeaves >= 0 && "Full-time".equalsIgnoreCase(employeeType)) {
+            totalWorkingHours += totalLeaveHours;
+            for (int i = 0; i < weeklyWorkHours.length; i++) {
+                weeklyWorkHours[i] += weeklyLeaveHours[i];
+            }
         }
 
-        logger.info("Completed processing monthly summaries for {} employees", summaries.size());
-        return summaries;
+        EmployeeMonthlyTimesheetDto dto = new EmployeeMonthlyTimesheetDto();
+        dto.setEmployeeId(userId);
+        dto.setEmployeeName(employeeName);
+        dto.setEmployeeType(employeeType);
+        dto.setClientName(clientName);
+        dto.setMonthStartDate(monthStart);
+        dto.setMonthEndDate(monthEnd);
+        dto.setJoiningDate(joiningDate);
+        dto.setStatus(aggregatedStatus);
+
+        dto.setWeek1Hours(weekCount > 0 ? (int) Math.round(weeklyWorkHours[0]) : 0);
+        dto.setWeek2Hours(weekCount > 1 ? (int) Math.round(weeklyWorkHours[1]) : 0);
+        dto.setWeek3Hours(weekCount > 2 ? (int) Math.round(weeklyWorkHours[2]) : 0);
+        dto.setWeek4Hours(weekCount > 3 ? (int) Math.round(weeklyWorkHours[3]) : 0);
+        dto.setWeek5Hours(weekCount > 4 ? (int) Math.round(weeklyWorkHours[4]) : 0);
+
+        dto.setTotalWorkingHours((int) Math.round(totalWorkingHours));
+        dto.setTotalWorkingDays((int) Math.round(totalWorkingHours / 8.0));
+
+        dto.setAvailableLeaves(availableLeaves);
+        dto.setTakenLeaves(takenLeaves);
+        return dto;
     }
 
-    private List<Week> getWeeksMondayToFridayForMonth(LocalDate monthStart, LocalDate monthEnd) {
-        List<Week> weeks = new ArrayList<>();
-        LocalDate firstMonday = monthStart;
-        while (firstMonday.getDayOfWeek() != DayOfWeek.MONDAY) {
-            firstMonday = firstMonday.minusDays(1);
+    private long recordSummaryPhase(String phase, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (meterRegistry != null) {
+            Timer.builder("timesheet.monthly-summary.phase")
+                    .tag("phase", phase)
+                    .description("Time spent per phase of the all-employees monthly summary")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
         }
-        LocalDate currentStart = firstMonday;
-        while (!currentStart.isAfter(monthEnd)) {
-            LocalDate currentEnd = currentStart.plusDays(4); // Monday to Friday
-            List<LocalDate> daysInsideMonth = new ArrayList<>();
-            for (LocalDate d = currentStart; !d.isAfter(currentEnd); d = d.plusDays(1)) {
-                if (!d.isBefore(monthStart) && !d.isAfter(monthEnd)) {
-                    daysInsideMonth.add(d);
-                }
-            }
-            weeks.add(new Week(currentStart, currentEnd, daysInsideMonth));
-            currentStart = currentStart.plusWeeks(1);
-        }
-        return weeks;
+        return elapsed;
     }
 
+
+
     public List<String> getVendorNamesByUserId(String userId) {
         String userEmail = userRegisterClient.getUserEmail(userId); // may throw ResourceNotFoundException
 
-        List<PlacementDetailsDto> placements = candidateClient.getPlacementsByEmail(userEmail); // may also throw ResourceNotFoundException
+        PlacementTimeline timeline = candidateClient.getPlacementTimeline(userEmail); // may also throw ResourceNotFoundException
 
-        return placements.stream()
+        return timeline.all().stream()
                 .map(PlacementDetailsDto::getClientName)
                 .filter(Objects::nonNull)
                 .distinct()
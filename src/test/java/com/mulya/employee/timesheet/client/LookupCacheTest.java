@@ -0,0 +1,108 @@
+package com.mulya.employee.timesheet.client;
+
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCacheTest {
+
+    private final LookupCache<String, String> cache = new LookupCache<>("test", true, 100,
+            Duration.ofMinutes(5), Duration.ofMinutes(1), null);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void foundAndNotFoundResultsAreCached() {
+        assertEquals("alice@example.com", cache.get("U1", id -> load("alice@example.com")));
+        assertEquals("alice@example.com", cache.get("U1", id -> load("other")));
+        assertThrows(ResourceNotFoundException.class, () -> cache.get("U2", id -> notFound(id)));
+        assertThrows(ResourceNotFoundException.class, () -> cache.get("U2", id -> load("late")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadInvalidatedMidFlightIsReturnedButNotKept() {
+        // Invalidating the loading key from the loader would fail inside a cache compute
+        assertEquals("old", cache.get("U1", id -> {
+            cache.invalidate(id);
+            return load("old");
+        }));
+        assertEquals("new", cache.get("U1", id -> load("new")));
+        assertEquals("new", cache.getLastKnown("U1").orElseThrow());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("U1", id -> {
+            started.countDown();
+            await(release);
+            return load("alice@example.com");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("U1", id -> load("other")));
+        // An unrelated key is not held up by the in-flight load
+        assertEquals("bob@example.com", cache.get("U2", id -> load("bob@example.com")));
+
+        // Released once the second caller has joined the in-flight load
+        SingleFlight<?, ?> flight = (SingleFlight<?, ?>) ReflectionTestUtils.getField(cache, "loads");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.deduplicatedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        assertEquals("alice@example.com", first.get(5, TimeUnit.SECONDS));
+        assertEquals("alice@example.com", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+        assertEquals(1, flight.deduplicatedCount());
+    }
+
+    @Test
+    void asyncMissesShareOneLoadWithBlockingCallers() throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.getAsync("U1", id -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> second = cache.getAsync("U1", id -> CompletableFuture.completedFuture(load("other")));
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> cache.get("U1", id -> load("other")));
+
+        SingleFlight<?, ?> flight = (SingleFlight<?, ?>) ReflectionTestUtils.getField(cache, "loads");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.deduplicatedCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        response.complete("alice@example.com");
+        assertEquals("alice@example.com", first.get(5, TimeUnit.SECONDS));
+        assertEquals("alice@example.com", second.get(5, TimeUnit.SECONDS));
+        assertEquals("alice@example.com", blocking.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals("alice@example.com", cache.getIfPresent("U1").orElseThrow());
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private String notFound(String id) {
+        loads.incrementAndGet();
+        throw new ResourceNotFoundException("User not found with ID: " + id, ResourceNotFoundException.ResourceType.USER);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
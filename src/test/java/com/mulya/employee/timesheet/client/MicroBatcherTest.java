@@ -0,0 +1,111 @@
+package com.mulya.employee.timesheet.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<String, String> batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void lookupsWithinTheWindowGoOutAsOneBatch() throws Exception {
+        batcher = batcher(Duration.ofMillis(50), 10, this::upperCase);
+
+        CompletableFuture<String> first = batcher.load("a");
+        CompletableFuture<String> second = batcher.load("b");
+
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        assertEquals("B", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaitingForTheWindow() throws Exception {
+        batcher = batcher(Duration.ofMinutes(5), 2, this::upperCase);
+
+        CompletableFuture<String> first = batcher.load("a");
+        CompletableFuture<String> second = batcher.load("b");
+        CompletableFuture<String> third = batcher.load("c");
+
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        assertEquals("B", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b")), batches);
+        // The next key opened a new window and is still queued
+        assertFalse(third.isDone());
+    }
+
+    @Test
+    void duplicateKeysShareOneResult() throws Exception {
+        batcher = batcher(Duration.ofMillis(50), 10, this::upperCase);
+
+        CompletableFuture<String> first = batcher.load("a");
+        CompletableFuture<String> second = batcher.load("a");
+        CompletableFuture<String> unknown = batcher.load("missing");
+
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        assertEquals("A", second.get(5, TimeUnit.SECONDS));
+        assertNull(unknown.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "missing")), batches);
+    }
+
+    @Test
+    void failingLoaderFailsEveryWaiter() {
+        IllegalStateException failure = new IllegalStateException("user service down");
+        batcher = batcher(Duration.ofMillis(50), 10, keys -> {
+            throw failure;
+        });
+
+        List<CompletableFuture<String>> futures = List.of(batcher.load("a"), batcher.load("a"), batcher.load("b"));
+
+        for (CompletableFuture<String> future : futures) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void closeFlushesPendingLookups() throws Exception {
+        batcher = batcher(Duration.ofMinutes(5), 10, this::upperCase);
+
+        CompletableFuture<String> pending = batcher.load("a");
+        batcher.close();
+
+        assertEquals("A", pending.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a")), batches);
+    }
+
+    private MicroBatcher<String, String> batcher(Duration window, int maxBatchSize,
+                                                 Function<List<String>, Map<String, String>> loader) {
+        return new MicroBatcher<>("test", window, maxBatchSize, 1, keys -> {
+            batches.add(List.copyOf(keys));
+            return loader.apply(keys);
+        }, null);
+    }
+
+    private Map<String, String> upperCase(List<String> keys) {
+        return keys.stream()
+                .filter(key -> !key.equals("missing"))
+                .collect(Collectors.toMap(key -> key, String::toUpperCase));
+    }
+}
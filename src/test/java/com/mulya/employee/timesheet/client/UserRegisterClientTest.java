@@ -0,0 +1,155 @@
+package com.mulya.employee.timesheet.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mulya.employee.timesheet.dto.UserInfoDto;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRegisterClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private UserRegisterClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/ADRTIN100/username", exchange -> {
+            requestCount.incrementAndGet();
+            respond(exchange, "application/json", "[{\"userId\":\"ADRTIN100\",\"userName\":\"Asha Rao\",\"extra\":true}]");
+        });
+        server.createContext("/users/ADRTIN200/username", exchange -> {
+            requestCount.incrementAndGet();
+            respond(exchange, "text/plain", "Ravi Kumar");
+        });
+        AtomicInteger slowCount = new AtomicInteger();
+        server.createContext("/users/ADRTIN300/username", exchange -> {
+            requestCount.incrementAndGet();
+            // First call hits a "slow replica"; the rest answer with small random latency
+            sleep(slowCount.getAndIncrement() == 0 ? 2000 : ThreadLocalRandom.current().nextInt(5, 20));
+            respond(exchange, "text/plain", "Meera Iyer");
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+
+        client = new UserRegisterClient();
+        ReflectionTestUtils.setField(client, "userServiceBaseUrl", "http://localhost:" + server.getAddress().getPort() + "/users");
+        ReflectionTestUtils.setField(client, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(client, "mapper", new ObjectMapper());
+        ReflectionTestUtils.invokeMethod(client, "initCaches");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(client, "shutdown");
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void jsonResponseIsDecodedFromSingleRequest() {
+        List<UserInfoDto> infos = client.getUserInfos("ADRTIN100");
+
+        assertEquals(1, infos.size());
+        assertEquals("Asha Rao", infos.get(0).getUserName());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void plainTextResponseIsDecodedFromSingleRequest() {
+        List<UserInfoDto> infos = client.getUserInfos("ADRTIN200");
+
+        assertEquals("ADRTIN200", infos.get(0).getUserId());
+        assertEquals("Ravi Kumar", infos.get(0).getUserName());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void asyncLookupSharesCacheWithBlockingLookup() {
+        List<UserInfoDto> infos = client.getUserInfosAsync("ADRTIN100").join();
+
+        assertEquals("Asha Rao", infos.get(0).getUserName());
+        assertEquals("Asha Rao", client.getUserInfos("ADRTIN100").get(0).getUserName());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void recordingLookupThrowsInsteadOfUnknownWhileServiceIsDown() {
+        server.createContext("/users/ADRTIN400/username", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+
+        assertEquals("Unknown", client.getUserInfos("ADRTIN400").get(0).getUserName());
+        assertThrows(RuntimeException.class, () -> client.getUserInfosOrThrow("ADRTIN400"));
+
+        // A name seen before is still served while the service is down
+        client.getUserInfos("ADRTIN100");
+        client.evictUser("ADRTIN100");
+        server.removeContext("/users/ADRTIN100/username");
+        server.createContext("/users/ADRTIN100/username", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        assertEquals("Asha Rao", client.getUserInfosOrThrow("ADRTIN100").get(0).getUserName());
+    }
+
+    @Test
+    void slowFirstAttemptIsHedged() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.invokeMethod(client, "shutdown");
+        ReflectionTestUtils.setField(client, "meterRegistry", registry);
+        ReflectionTestUtils.setField(client, "hedgeEnabled", true);
+        ReflectionTestUtils.setField(client, "hedgeMaxDelayMs", 50L);
+        ReflectionTestUtils.setField(client, "hedgeBudgetRatio", 1.0);
+        ReflectionTestUtils.invokeMethod(client, "initCaches");
+
+        long start = System.nanoTime();
+        List<UserInfoDto> infos = client.getUserInfos("ADRTIN300");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("Meera Iyer", infos.get(0).getUserName());
+        assertTrue(elapsedMs < 1500, "hedge should answer before the slow attempt, took " + elapsedMs + " ms");
+        assertEquals(1.0, registry.get("remote.hedge.fired").counter().count());
+        assertEquals(1.0, registry.get("remote.hedge.won").counter().count());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mulya.employee.timesheet.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacementTimelineTest {
+
+    private final PlacementDetailsDto acme = placement("Acme", "2024-01-01", null);
+    private final PlacementDetailsDto globex = placement("Globex", "2024-06-01", "2024-09-30");
+    private final PlacementDetailsDto initech = placement("Initech", "2024-11-01", null);
+
+    // Candidate service lists the newest placement first
+    private final PlacementTimeline timeline = PlacementTimeline.of(List.of(initech, globex, acme));
+
+    @Test
+    void activeOnResolvesByDateNotListOrder() {
+        assertEquals("Acme", timeline.activeOn(LocalDate.parse("2024-05-31")).orElseThrow().getClientName());
+        assertEquals("Globex", timeline.activeOn(LocalDate.parse("2024-06-01")).orElseThrow().getClientName());
+        assertTrue(timeline.activeOn(LocalDate.parse("2024-10-15")).isEmpty());
+        assertEquals("Initech", timeline.activeOn(LocalDate.parse("2025-03-01")).orElseThrow().getClientName());
+        assertTrue(timeline.activeOn(LocalDate.parse("2023-12-31")).isEmpty());
+    }
+
+    @Test
+    void placementOnFallsBackToMostRecentStartedPlacement() {
+        assertEquals("Globex", timeline.placementOn(LocalDate.parse("2024-10-15")).getClientName());
+        assertEquals("Acme", timeline.placementOn(LocalDate.parse("2023-12-31")).getClientName());
+    }
+
+    @Test
+    void overlappingReturnsChronologicalRange() {
+        List<PlacementDetailsDto> overlapping = timeline.overlapping(LocalDate.parse("2024-05-01"), LocalDate.parse("2024-11-30"));
+
+        assertEquals(List.of(acme, globex, initech), overlapping);
+        assertEquals(initech, timeline.latestOverlapping(LocalDate.parse("2024-05-01"), LocalDate.parse("2024-11-30")));
+        assertNull(timeline.latestOverlapping(LocalDate.parse("2024-10-01"), LocalDate.parse("2024-10-31")));
+        assertEquals(List.of(initech, globex, acme), timeline.all());
+    }
+
+    private static PlacementDetailsDto placement(String client, String start, String end) {
+        PlacementDetailsDto placement = new PlacementDetailsDto();
+        placement.setClientName(client);
+        placement.setStartDate(LocalDate.parse(start));
+        placement.setEndDate(end == null ? null : LocalDate.parse(end));
+        return placement;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mulya.employee.timesheet.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeekHoursTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private static TimesheetEntry entry(LocalDate date, Double hours) {
+        TimesheetEntry entry = new TimesheetEntry();
+        entry.setProject("Payroll");
+        entry.setDate(date);
+        entry.setHours(hours);
+        return entry;
+    }
+
+    @Test
+    void rangeSumsCoverWorkingAndLeaveChannels() {
+        WeekHours hours = WeekHours.of(MONDAY, MONDAY.plusDays(4),
+                List.of(entry(MONDAY, 8.0), entry(MONDAY, 0.5), entry(MONDAY.plusDays(1), 7.25), entry(MONDAY.plusDays(2), null)),
+                List.of(entry(MONDAY.plusDays(3), 8.0), entry(MONDAY.plusDays(4), 4.0)));
+
+        assertEquals(15.75, hours.totalWorkingHours());
+        assertEquals(8.5, hours.workingHoursOn(MONDAY));
+        assertEquals(7.25, hours.workingHours(MONDAY.plusDays(1), MONDAY.plusDays(4)));
+        assertEquals(12.0, hours.leaveHours(MONDAY.minusDays(10), MONDAY.plusDays(10)));
+        assertEquals(1, hours.fullLeaveDays(MONDAY, MONDAY.plusDays(4)));
+        assertEquals(0, hours.fullLeaveDays(MONDAY.plusDays(4), MONDAY.plusDays(4)));
+        assertEquals(0.0, hours.workingHours(MONDAY.plusDays(2), MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void periodGrowsToCoverEntriesOutsideTheWeek() {
+        WeekHours hours = WeekHours.of(MONDAY, MONDAY.plusDays(4),
+                List.of(entry(MONDAY.minusDays(3), 2.0), entry(MONDAY.plusDays(6), 3.0)), List.of());
+
+        assertEquals(MONDAY.minusDays(3), hours.getStart());
+        assertEquals(MONDAY.plusDays(6), hours.getEnd());
+        assertEquals(5.0, hours.totalWorkingHours());
+        assertEquals(0.0, hours.workingHours(MONDAY, MONDAY.plusDays(4)));
+        assertEquals(MONDAY.minusDays(3), hours.getFirstEntryDate());
+        assertEquals(MONDAY.plusDays(6), hours.getLastEntryDate());
+    }
+
+    @Test
+    void convertsBackToOneEntryPerDay() {
+        WeekHours hours = WeekHours.of(MONDAY, MONDAY.plusDays(4),
+                List.of(entry(MONDAY, 6.0), entry(MONDAY, 2.0), entry(MONDAY.plusDays(2), 7.5)), null);
+
+        List<TimesheetEntry> entries = hours.toWorkingEntries();
+        assertEquals(2, entries.size());
+        assertEquals(MONDAY, entries.get(0).getDate());
+        assertEquals(8.0, entries.get(0).getHours());
+        assertEquals(7.5, entries.get(1).getHours());
+        assertNull(WeekHours.of(null, null, null, null).getStart());
+        assertNull(WeekHours.of(MONDAY, MONDAY.plusDays(4), List.of(), List.of()).getFirstEntryDate());
+    }
+}
@@ -0,0 +1,97 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.client.CandidateClient;
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.dto.UserInfoDto;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeContextTest {
+
+    private final UserRegisterClient userRegisterClient = Mockito.mock(UserRegisterClient.class);
+    private final CandidateClient candidateClient = Mockito.mock(CandidateClient.class);
+    private final EmployeeContext context = new EmployeeContext(userRegisterClient, candidateClient);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void eachLookupRunsOncePerUser() {
+        stubUser("U1", "Alice", "alice@example.com", "Full-time");
+        stubUser("U2", "Bob", "bob@example.com", "Contract");
+
+        context.prefetch("U1");
+        assertEquals("Alice", context.getEmployeeName("U1"));
+        assertEquals("alice@example.com", context.getEmail("U1"));
+        assertTrue(context.isFullTime("U1", LocalDate.parse("2025-03-03")));
+        assertEquals("Acme", context.getTimeline("U1").placementOn(LocalDate.parse("2025-03-03")).getClientName());
+        assertEquals("Bob", context.getEmployeeName("U2"));
+        assertFalse(context.isFullTime("U2", LocalDate.parse("2025-03-03")));
+
+        Mockito.verify(userRegisterClient, Mockito.times(1)).getUserInfosAsync("U1");
+        Mockito.verify(userRegisterClient, Mockito.times(1)).getUserEmailAsync("U1");
+        Mockito.verify(candidateClient, Mockito.times(1)).getPlacementsByEmailAsync("alice@example.com");
+        Mockito.verify(userRegisterClient, Mockito.times(1)).getUserInfosAsync("U2");
+        Mockito.verify(candidateClient, Mockito.times(1)).getPlacementsByEmailAsync("bob@example.com");
+    }
+
+    @Test
+    void failedLookupIsSharedAndNotRetriedWithinTheRequest() {
+        ResourceNotFoundException notFound = new ResourceNotFoundException("User email not found for userId: U1",
+                ResourceNotFoundException.ResourceType.USER);
+        Mockito.when(userRegisterClient.getUserEmailAsync("U1")).thenReturn(CompletableFuture.failedFuture(notFound));
+
+        assertSame(notFound, assertThrows(ResourceNotFoundException.class, () -> context.getEmail("U1")));
+        assertSame(notFound, assertThrows(ResourceNotFoundException.class, () -> context.getTimeline("U1")));
+        assertNull(context.findPlacementOn("U1", LocalDate.parse("2025-03-03")));
+
+        Mockito.verify(userRegisterClient, Mockito.times(1)).getUserEmailAsync("U1");
+        Mockito.verifyNoInteractions(candidateClient);
+    }
+
+    @Test
+    void timesheetServiceSharesTheRequestContextAndUsesOnePerCallOutsideRequests() {
+        EmployeeContext requestContext = new EmployeeContext(userRegisterClient, candidateClient);
+        TimesheetService service = new TimesheetService();
+        ReflectionTestUtils.setField(service, "userRegisterClient", userRegisterClient);
+        ReflectionTestUtils.setField(service, "candidateClient", candidateClient);
+        ReflectionTestUtils.setField(service, "employeeContext", requestContext);
+
+        EmployeeContext first = ReflectionTestUtils.invokeMethod(service, "employeeContext");
+        EmployeeContext second = ReflectionTestUtils.invokeMethod(service, "employeeContext");
+        assertNotSame(requestContext, first);
+        assertNotSame(first, second);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertSame(requestContext, ReflectionTestUtils.invokeMethod(service, "employeeContext"));
+    }
+
+    private void stubUser(String userId, String name, String email, String employeeType) {
+        UserInfoDto info = new UserInfoDto();
+        info.setUserId(userId);
+        info.setUserName(name);
+        PlacementDetailsDto placement = new PlacementDetailsDto();
+        placement.setClientName("Acme");
+        placement.setEmployeeType(employeeType);
+        placement.setStartDate(LocalDate.parse("2024-01-01"));
+
+        Mockito.when(userRegisterClient.getUserInfosAsync(userId)).thenReturn(CompletableFuture.completedFuture(List.of(info)));
+        Mockito.when(userRegisterClient.getUserEmailAsync(userId)).thenReturn(CompletableFuture.completedFuture(email));
+        Mockito.when(candidateClient.getPlacementsByEmailAsync(email)).thenReturn(CompletableFuture.completedFuture(List.of(placement)));
+    }
+}
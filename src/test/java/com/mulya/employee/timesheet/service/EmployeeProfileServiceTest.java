@@ -0,0 +1,143 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mulya.employee.timesheet.dto.EmployeeEnrichment;
+import com.mulya.employee.timesheet.dto.EmployeeEnrichment.Lookup;
+import com.mulya.employee.timesheet.dto.PlacementDetailsDto;
+import com.mulya.employee.timesheet.model.EmployeeProfile;
+import com.mulya.employee.timesheet.repository.EmployeeProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeProfileServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final EmployeeProfileRepository repository = Mockito.mock(EmployeeProfileRepository.class);
+    private final EmployeeEnrichmentService enrichmentService = Mockito.mock(EmployeeEnrichmentService.class);
+    private final List<EmployeeProfile> saved = new ArrayList<>();
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private EmployeeProfileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeProfileService();
+        ReflectionTestUtils.setField(service, "employeeProfileRepository", repository);
+        ReflectionTestUtils.setField(service, "enrichmentService", enrichmentService);
+        ReflectionTestUtils.setField(service, "mapper", mapper);
+        ReflectionTestUtils.setField(service, "refreshExecutor", (Executor) scheduledRefreshes::add);
+        Mockito.when(repository.saveAll(Mockito.anyIterable())).thenAnswer(call -> {
+            call.<Iterable<EmployeeProfile>>getArgument(0).forEach(saved::add);
+            return List.copyOf(saved);
+        });
+    }
+
+    @Test
+    void storedProfilesAreServedWithoutRemoteCalls() throws Exception {
+        EmployeeProfile stored = new EmployeeProfile();
+        stored.setUserId("U1");
+        stored.setEmployeeName("Alice");
+        stored.setEmail("alice@example.com");
+        stored.setPlacementsJson(mapper.writeValueAsString(List.of(placement("Acme", "Full-time"))));
+        Mockito.when(repository.findByUserIdIn(Mockito.anyCollection())).thenReturn(List.of(stored));
+
+        EmployeeEnrichment profile = service.getProfile("U1");
+
+        assertEquals("Alice", profile.getEmployeeName());
+        assertEquals("Acme", profile.getPrimaryPlacement().getClientName());
+        assertTrue(profile.isFullTime());
+        Mockito.verifyNoInteractions(enrichmentService);
+        assertTrue(saved.isEmpty());
+    }
+
+    @Test
+    void firstSightUsersAreEnrichedAndStored() {
+        EmployeeProfile stored = new EmployeeProfile();
+        stored.setUserId("U1");
+        stored.setEmployeeName("Alice");
+        Mockito.when(repository.findByUserIdIn(Mockito.anyCollection())).thenReturn(List.of(stored));
+        Mockito.when(enrichmentService.enrich(List.of("U2"))).thenReturn(Map.of("U2",
+                new EmployeeEnrichment("U2", "Bob", "bob@example.com", List.of(placement("Globex", "Contract")))));
+
+        Map<String, EmployeeEnrichment> profiles = service.getProfiles(List.of("U1", "U2", "U1"));
+
+        assertEquals("Alice", profiles.get("U1").getEmployeeName());
+        assertEquals("Bob", profiles.get("U2").getEmployeeName());
+        assertEquals(1, saved.size());
+        EmployeeProfile profile = saved.get(0);
+        assertEquals("U2", profile.getUserId());
+        assertEquals("bob@example.com", profile.getEmail());
+        assertEquals("Globex", profile.getClientName());
+        assertNotNull(profile.getPlacementsJson());
+        assertNotNull(profile.getRefreshedAt());
+    }
+
+    @Test
+    void failedLookupsAreNotStored() {
+        Mockito.when(repository.findByUserIdIn(Mockito.anyCollection())).thenReturn(List.of());
+        Mockito.when(enrichmentService.enrich(List.of("U2", "U3", "U4"))).thenReturn(Map.of(
+                "U2", new EmployeeEnrichment("U2", "Bob", "bob@example.com", List.of()),
+                "U3", new EmployeeEnrichment("U3", "Carol", null, List.of(), Lookup.FOUND, Lookup.FAILED),
+                "U4", new EmployeeEnrichment("U4", "Unknown", null, List.of(), Lookup.FAILED, Lookup.NOT_FOUND)));
+
+        Map<String, EmployeeEnrichment> profiles = service.getProfiles(List.of("U2", "U3", "U4"));
+
+        assertEquals(Set.of("U2"), profiles.keySet());
+        assertEquals(List.of("U2"), saved.stream().map(EmployeeProfile::getUserId).toList());
+    }
+
+    @Test
+    void staleProfileKeepsItsValuesWhenTheRefreshFails() {
+        EmployeeProfile stale = new EmployeeProfile();
+        stale.setUserId("U1");
+        stale.setRefreshedAt(LocalDateTime.now().minusDays(1));
+        Mockito.when(repository.findByRefreshedAtBeforeOrderByRefreshedAtAsc(Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(stale));
+        Mockito.when(enrichmentService.enrich(List.of("U1"))).thenReturn(Map.of("U1",
+                new EmployeeEnrichment("U1", "Unknown", null, List.of(), Lookup.FAILED, Lookup.FAILED)));
+        ReflectionTestUtils.setField(service, "refreshBatchSize", 200);
+
+        assertEquals(0, service.refreshStaleProfiles());
+        assertTrue(saved.isEmpty());
+    }
+
+    @Test
+    void refreshRequestedInsideATransactionRunsAfterCommit() {
+        Mockito.when(enrichmentService.enrich(List.of("U1"))).thenReturn(Map.of("U1",
+                new EmployeeEnrichment("U1", "Alice", "alice@example.com", List.of())));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.refreshAsync("U1");
+            service.refreshAsync("U1");
+            assertTrue(scheduledRefreshes.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Refreshes for the same user are deduplicated until the first one has run
+        assertEquals(1, scheduledRefreshes.size());
+        scheduledRefreshes.remove(0).run();
+        assertEquals(List.of("U1"), saved.stream().map(EmployeeProfile::getUserId).toList());
+    }
+
+    private static PlacementDetailsDto placement(String client, String employeeType) {
+        PlacementDetailsDto placement = new PlacementDetailsDto();
+        placement.setClientName(client);
+        placement.setEmployeeType(employeeType);
+        placement.setStartDate(LocalDate.parse("2024-01-01"));
+        return placement;
+    }
+}
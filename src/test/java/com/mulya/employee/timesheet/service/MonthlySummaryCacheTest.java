@@ -0,0 +1,134 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mulya.employee.timesheet.client.SingleFlight;
+import com.mulya.employee.timesheet.dto.EmployeeMonthlyTimesheetDto;
+import com.mulya.employee.timesheet.dto.MonthlySummaryResult;
+import com.mulya.employee.timesheet.model.Timesheet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlySummaryCacheTest {
+
+    private static final LocalDate JAN_START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JAN_END = LocalDate.of(2025, 1, 31);
+    private static final LocalDate FEB_START = LocalDate.of(2025, 2, 1);
+    private static final LocalDate FEB_END = LocalDate.of(2025, 2, 28);
+
+    private final AtomicInteger computations = new AtomicInteger();
+    private MonthlySummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MonthlySummaryCache();
+        ReflectionTestUtils.setField(cache, "mapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 10L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @Test
+    void savesEvictOnlyTheMonthsTheirWeekOverlaps() {
+        MonthlySummaryResult january = cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40));
+        cache.get(FEB_START, FEB_END, () -> summaries("EMP1", 32));
+        assertEquals(2, computations.get());
+
+        cache.invalidate(List.of(timesheet(LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 14))));
+        assertSame(january, cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40)));
+        cache.get(FEB_START, FEB_END, () -> summaries("EMP1", 36));
+        assertEquals(3, computations.get());
+
+        // A week spanning the month boundary evicts both months
+        cache.invalidate(List.of(timesheet(LocalDate.of(2025, 1, 27), LocalDate.of(2025, 2, 2))));
+        cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40));
+        cache.get(FEB_START, FEB_END, () -> summaries("EMP1", 36));
+        assertEquals(5, computations.get());
+    }
+
+    @Test
+    void etagChangesOnlyWithContent() {
+        MonthlySummaryResult first = cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40));
+        cache.invalidateAll();
+        MonthlySummaryResult same = cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40));
+        cache.invalidateAll();
+        MonthlySummaryResult changed = cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 38));
+
+        assertEquals(first.getEtag(), same.getEtag());
+        assertNotEquals(first.getEtag(), changed.getEtag());
+        assertTrue(first.matches("W/" + first.getEtag()));
+        assertTrue(first.matches("\"other\", " + first.getEtag()));
+        assertFalse(first.matches(changed.getEtag()));
+        assertFalse(first.matches(null));
+    }
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MonthlySummaryResult> first = CompletableFuture.supplyAsync(() ->
+                cache.get(JAN_START, JAN_END, () -> {
+                    started.countDown();
+                    await(release);
+                    return summaries("EMP1", 40);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MonthlySummaryResult> second = CompletableFuture.supplyAsync(() ->
+                cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 40)));
+
+        // Released once the second caller has joined the in-flight computation
+        SingleFlight<?, ?> flight = (SingleFlight<?, ?>) ReflectionTestUtils.getField(cache, "flight");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.deduplicatedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void resultComputedAcrossAnInvalidationIsNotStored() {
+        cache.get(JAN_START, JAN_END, () -> {
+            List<EmployeeMonthlyTimesheetDto> stale = summaries("EMP1", 40);
+            cache.invalidate(List.of(timesheet(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10))));
+            return stale;
+        });
+        cache.get(JAN_START, JAN_END, () -> summaries("EMP1", 42));
+        assertEquals(2, computations.get());
+    }
+
+    private List<EmployeeMonthlyTimesheetDto> summaries(String employeeId, int hours) {
+        computations.incrementAndGet();
+        EmployeeMonthlyTimesheetDto dto = new EmployeeMonthlyTimesheetDto();
+        dto.setEmployeeId(employeeId);
+        dto.setTotalWorkingHours(hours);
+        return List.of(dto);
+    }
+
+    private static Timesheet timesheet(LocalDate weekStart, LocalDate weekEnd) {
+        Timesheet ts = new Timesheet();
+        ts.setWeekStartDate(weekStart);
+        ts.setWeekEndDate(weekEnd);
+        return ts;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mulya.employee.timesheet.dto.TimesheetEntry;
+import com.mulya.employee.timesheet.dto.Week;
+import com.mulya.employee.timesheet.model.MonthlySummaryBuild;
+import com.mulya.employee.timesheet.model.Timesheet;
+import com.mulya.employee.timesheet.repository.EmployeeMonthlySummaryRepository;
+import com.mulya.employee.timesheet.repository.MonthlySummaryBuildRepository;
+import com.mulya.employee.timesheet.repository.TimesheetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Build markers on read, and agreement of the database aggregation with
+ * {@link MonthlySummaryService#aggregate} on the same data.
+ * There is no MySQL here, so the rows of TimesheetRepository.WEEKLY_HOURS_QUERY are produced by
+ * {@link #weeklyHoursRows}, which follows that query clause by clause; keep the two in step.
+ */
+class MonthlySummaryServiceTest {
+
+    private final TimesheetEntryCodec codec = new TimesheetEntryCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final TimesheetRepository timesheetRepository = Mockito.mock(TimesheetRepository.class);
+    private final EmployeeMonthlySummaryRepository summaryRepository = Mockito.mock(EmployeeMonthlySummaryRepository.class);
+    private final MonthlySummaryBuildRepository buildRepository = Mockito.mock(MonthlySummaryBuildRepository.class);
+    private final List<Timesheet> timesheets = new ArrayList<>();
+    private MonthlySummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        TimesheetEntryService entryService = new TimesheetEntryService();
+        ReflectionTestUtils.setField(entryService, "entryCodec", codec);
+        service = new MonthlySummaryService();
+        ReflectionTestUtils.setField(service, "timesheetRepository", timesheetRepository);
+        ReflectionTestUtils.setField(service, "entryService", entryService);
+        ReflectionTestUtils.setField(service, "summaryRepository", summaryRepository);
+        ReflectionTestUtils.setField(service, "buildRepository", buildRepository);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(call -> call.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+    }
+
+    @Test
+    void onlyMonthsNotBuiltWithTheCurrentRulesAreRebuiltOnRead() {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        LocalDate april = LocalDate.of(2025, 4, 1);
+        LocalDate may = LocalDate.of(2025, 5, 1);
+        Mockito.when(buildRepository.findById(march)).thenReturn(Optional.of(build(march, MonthlySummaryService.RULES_VERSION)));
+        Mockito.when(buildRepository.findById(april)).thenReturn(Optional.of(build(april, MonthlySummaryService.RULES_VERSION - 1)));
+        Mockito.when(buildRepository.findById(may)).thenReturn(Optional.empty());
+
+        service.readMonth(march);
+        Mockito.verify(summaryRepository, Mockito.never()).deleteByMonthStart(Mockito.any());
+        Mockito.verify(buildRepository, Mockito.never()).save(Mockito.any());
+
+        service.readMonth(april);
+        service.readMonth(may);
+        Mockito.verify(summaryRepository).deleteByMonthStart(april);
+        Mockito.verify(summaryRepository).deleteByMonthStart(may);
+        Mockito.verify(buildRepository, Mockito.times(2)).save(Mockito.argThat(build ->
+                build.getRulesVersion() == MonthlySummaryService.RULES_VERSION));
+    }
+
+    @Test
+    void weekendStartsAndEntriesOutsideTheWeekMatch() {
+        // March 2025 starts on a Saturday: week 1 (Feb 24-28) has no day inside the month
+        timesheet("EMP1", "2025-03-03", "APPROVED",
+                entries("2025-03-03", 8, "2025-03-04", 8, "2025-03-07", 7.5, "2025-03-10", 8), entries());
+        timesheet("EMP2", "2025-03-01", "DRAFT", entries("2025-03-01", 4, "2025-03-03", 8), entries());
+        // Wednesday start: Monday's entry counts, the next week's does not
+        timesheet("EMP2", "2025-03-12", "PENDING_APPROVAL",
+                entries("2025-03-10", 6.25, "2025-03-12", 7.33, "2025-03-17", 8), entries("2025-03-14", 8));
+        timesheet("EMP3", "2025-03-05", null, entries("2025-03-05", null, null, 8), entries());
+
+        assertPushDownMatchesAggregate(LocalDate.of(2025, 3, 1));
+    }
+
+    @Test
+    void partialFirstAndLastWeeksMatch() {
+        // January 2025 starts on a Wednesday and ends on a Friday
+        timesheet("EMP1", "2025-01-01", "REJECTED",
+                entries("2024-12-30", 8, "2024-12-31", 8, "2025-01-01", 8, "2025-01-03", 5), entries("2025-01-02", 8));
+        timesheet("EMP1", "2025-01-27", "APPROVED", entries("2025-01-27", 8, "2025-01-31", 8), entries());
+        // March 2025 ends on a Monday: only the 31st of the last week is inside the month
+        timesheet("EMP2", "2025-03-31", "DRAFT", entries("2025-03-31", 8, "2025-04-01", 8), entries("2025-04-02", 8));
+        timesheet("EMP2", "2025-03-24", "APPROVED", entries("2025-03-24", 8, "2025-03-28", 3.5), entries("2025-03-25", 4));
+
+        assertPushDownMatchesAggregate(LocalDate.of(2025, 1, 1));
+        assertPushDownMatchesAggregate(LocalDate.of(2025, 3, 1));
+    }
+
+    private void assertPushDownMatchesAggregate(LocalDate monthStart) {
+        LocalDate monthEnd = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+        List<Week> weeks = service.calendarWeeks(monthStart, monthEnd);
+        LocalDate firstMonday = weeks.get(0).weekStart;
+        List<TimesheetRepository.WeeklyHoursRow> rows = weeklyHoursRows(monthStart, monthEnd, firstMonday);
+        Mockito.when(timesheetRepository.sumWeeklyHours(monthStart, monthEnd, firstMonday)).thenReturn(rows);
+
+        SortedMap<String, MonthlySummaryService.WeeklyAggregate> pushedDown = service.aggregateInDatabase(monthStart, monthEnd);
+
+        Map<String, List<Timesheet>> byUser = inRange(monthStart, monthEnd).stream()
+                .collect(Collectors.groupingBy(Timesheet::getUserId));
+        assertEquals(byUser.keySet(), pushedDown.keySet());
+        byUser.forEach((userId, userTimesheets) -> {
+            MonthlySummaryService.WeeklyAggregate expected = service.aggregate(userTimesheets, weeks, monthStart, monthEnd);
+            MonthlySummaryService.WeeklyAggregate actual = pushedDown.get(userId);
+            assertArrayEquals(expected.workHours(), actual.workHours(), 1e-9, userId + " work hours in " + monthStart);
+            assertArrayEquals(expected.leaveHours(), actual.leaveHours(), 1e-9, userId + " leave hours in " + monthStart);
+            assertEquals(expected.status(), actual.status(), userId + " status in " + monthStart);
+        });
+    }
+
+    // WEEKLY_HOURS_QUERY over the entries timesheet_entry_us holds for these timesheets (dated ones only)
+    private List<TimesheetRepository.WeeklyHoursRow> weeklyHoursRows(LocalDate monthStart, LocalDate monthEnd, LocalDate firstMonday) {
+        Map<List<Object>, long[]> minutes = new LinkedHashMap<>();
+        Map<List<Object>, Integer> priorities = new HashMap<>();
+        for (Timesheet ts : inRange(monthStart, monthEnd)) {
+            int weekday = ts.getWeekStartDate().getDayOfWeek().getValue() - 1;
+            long weekIndex = weekday > 4 ? -1 : Math.floorDiv(ChronoUnit.DAYS.between(firstMonday, ts.getWeekStartDate()), 7);
+            List<Object> group = List.of(ts.getUserId(), weekIndex);
+            long[] sums = minutes.computeIfAbsent(group, key -> new long[2]);
+            Integer priority = ts.getStatus() != null ? MonthlySummaryService.STATUS_PRIORITY.get(ts.getStatus()) : null;
+            if (priority != null) {
+                priorities.merge(group, priority, Math::min);
+            }
+            if (weekday > 4) {
+                continue;
+            }
+            LocalDate monday = ts.getWeekStartDate().minusDays(weekday);
+            LocalDate from = monday.isBefore(monthStart) ? monthStart : monday;
+            LocalDate to = monday.plusDays(4).isAfter(monthEnd) ? monthEnd : monday.plusDays(4);
+            sums[0] += roundedMinutes(codec.readWorking(ts), from, to);
+            sums[1] += roundedMinutes(codec.readNonWorking(ts), from, to);
+        }
+        List<TimesheetRepository.WeeklyHoursRow> rows = new ArrayList<>();
+        minutes.forEach((group, sums) -> rows.add(row((String) group.get(0), (Long) group.get(1),
+                sums[0] / 60.0, sums[1] / 60.0, priorities.get(group))));
+        return rows;
+    }
+
+    private static long roundedMinutes(List<TimesheetEntry> entries, LocalDate from, LocalDate to) {
+        return entries.stream()
+                .filter(entry -> entry.getDate() != null && !entry.getDate().isBefore(from) && !entry.getDate().isAfter(to))
+                .mapToLong(entry -> Math.round((entry.getHours() != null ? entry.getHours() : 0.0) * 60))
+                .sum();
+    }
+
+    private List<Timesheet> inRange(LocalDate monthStart, LocalDate monthEnd) {
+        return timesheets.stream()
+                .filter(ts -> !ts.getWeekStartDate().isBefore(monthStart) && !ts.getWeekStartDate().isAfter(monthEnd))
+                .collect(Collectors.toList());
+    }
+
+    private void timesheet(String userId, String weekStart, String status,
+                           List<TimesheetEntry> working, List<TimesheetEntry> leave) {
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS" + (timesheets.size() + 1));
+        ts.setUserId(userId);
+        ts.setStatus(status);
+        ts.setWeekStartDate(LocalDate.parse(weekStart));
+        ts.setWeekEndDate(ts.getWeekStartDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+        ts.setWorkingHours(codec.write(working));
+        ts.setNonWorkingHours(codec.write(leave));
+        timesheets.add(ts);
+    }
+
+    // Alternating date, hours pairs; a null date makes an undated entry
+    private static List<TimesheetEntry> entries(Object... dateHours) {
+        List<TimesheetEntry> entries = new ArrayList<>();
+        for (int i = 0; i < dateHours.length; i += 2) {
+            TimesheetEntry entry = new TimesheetEntry();
+            entry.setDate(dateHours[i] != null ? LocalDate.parse((String) dateHours[i]) : null);
+            entry.setHours(dateHours[i + 1] != null ? ((Number) dateHours[i + 1]).doubleValue() : null);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static MonthlySummaryBuild build(LocalDate monthStart, int rulesVersion) {
+        MonthlySummaryBuild build = new MonthlySummaryBuild();
+        build.setMonthStart(monthStart);
+        build.setRulesVersion(rulesVersion);
+        return build;
+    }
+
+    private static TimesheetRepository.WeeklyHoursRow row(String userId, long weekIndex, double workHours,
+                                                          double leaveHours, Integer minStatusPriority) {
+        return new TimesheetRepository.WeeklyHoursRow() {
+            public String getUserId() { return userId; }
+            public Number getWeekIndex() { return weekIndex; }
+            public Number getWorkHours() { return workHours; }
+            public Number getLeaveHours() { return leaveHours; }
+            public Number getMinStatusPriority() { return minStatusPriority; }
+        };
+    }
+}
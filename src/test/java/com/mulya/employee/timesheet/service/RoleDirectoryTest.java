@@ -0,0 +1,96 @@
+package com.mulya.employee.timesheet.service;
+
+import com.mulya.employee.timesheet.client.UserRegisterClient;
+import com.mulya.employee.timesheet.dto.UserDto;
+import com.mulya.employee.timesheet.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleDirectoryTest {
+
+    private final UserRegisterClient userRegisterClient = Mockito.mock(UserRegisterClient.class);
+    // Refreshes are queued and run by the test, so the stale read can be observed before they happen
+    private final List<Runnable> queuedRefreshes = new ArrayList<>();
+    private RoleDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new RoleDirectory();
+        ReflectionTestUtils.setField(directory, "userRegisterClient", userRegisterClient);
+        ReflectionTestUtils.setField(directory, "refreshExecutor", (Executor) queuedRefreshes::add);
+        ReflectionTestUtils.setField(directory, "preloadRoles", List.of("ADMIN"));
+        ReflectionTestUtils.setField(directory, "staleAfterSeconds", 600L);
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileOneRefreshRuns() throws Exception {
+        Mockito.when(userRegisterClient.getUsersByRole("ADMIN"))
+                .thenReturn(List.of(user("A1")))
+                .thenReturn(List.of(user("A2")));
+        assertEquals("A1", directory.getFirstUser("admin").getUserId());
+
+        ReflectionTestUtils.setField(directory, "staleAfterSeconds", 0L);
+        Thread.sleep(5);
+        assertEquals("A1", directory.getFirstUser("ADMIN").getUserId());
+        assertEquals("A1", directory.getFirstUser("ADMIN").getUserId());
+        assertEquals(1, queuedRefreshes.size());
+
+        queuedRefreshes.remove(0).run();
+        ReflectionTestUtils.setField(directory, "staleAfterSeconds", 600L);
+        assertEquals("A2", directory.getFirstUser("ADMIN").getUserId());
+        Mockito.verify(userRegisterClient, Mockito.times(2)).getUsersByRole("ADMIN");
+    }
+
+    @Test
+    void failedBackgroundRefreshKeepsTheLastSnapshot() throws Exception {
+        Mockito.when(userRegisterClient.getUsersByRole("ADMIN"))
+                .thenReturn(List.of(user("A1")))
+                .thenThrow(new ResourceAccessException("user service down"));
+        directory.getFirstUser("ADMIN");
+
+        ReflectionTestUtils.setField(directory, "staleAfterSeconds", 0L);
+        Thread.sleep(5);
+        directory.getFirstUser("ADMIN");
+        queuedRefreshes.remove(0).run();
+
+        assertEquals("A1", directory.getFirstUser("ADMIN").getUserId());
+    }
+
+    @Test
+    void failureOnFirstLoadIsNotRememberedAsAnEmptyRole() {
+        Mockito.when(userRegisterClient.getUsersByRole("ADMIN"))
+                .thenThrow(new ResourceAccessException("user service down"))
+                .thenReturn(List.of(user("A1")));
+
+        assertThrows(ResourceAccessException.class, () -> directory.getFirstUser("ADMIN"));
+        assertEquals("A1", directory.getFirstUser("ADMIN").getUserId());
+    }
+
+    @Test
+    void findFirstUserIsEmptyForUnknownOrUnavailableRoles() {
+        Mockito.when(userRegisterClient.getUsersByRole("ADMIN"))
+                .thenThrow(new ResourceAccessException("user service down"));
+        Mockito.when(userRegisterClient.getUsersByRole("AUDITOR"))
+                .thenThrow(new ResourceNotFoundException("No users found with role: AUDITOR", ResourceNotFoundException.ResourceType.USER));
+
+        assertTrue(directory.findFirstUser("ADMIN").isEmpty());
+        assertTrue(directory.findFirstUser("AUDITOR").isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> directory.getUsersByRole("AUDITOR"));
+    }
+
+    private static UserDto user(String userId) {
+        UserDto user = new UserDto();
+        user.setUserId(userId);
+        user.setRole("ADMIN");
+        return user;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mulya.employee.timesheet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mulya.employee.timesheet.dto.TimesheetEntry;
+import com.mulya.employee.timesheet.dto.WeekHours;
+import com.mulya.employee.timesheet.model.Timesheet;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimesheetEntryCodecTest {
+
+    private final TimesheetEntryCodec codec = new TimesheetEntryCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void writtenEntriesReadBackUnchanged() {
+        TimesheetEntry entry = new TimesheetEntry();
+        entry.setProject("Payroll");
+        entry.setHours(7.5);
+        entry.setDescription("Sprint work");
+        entry.setDate(LocalDate.of(2025, 3, 4));
+
+        String json = codec.write(List.of(entry));
+        assertTrue(json.contains("\"2025-03-04\""));
+
+        List<TimesheetEntry> read = codec.read(json, "TS000001", "workingHours");
+        assertEquals(1, read.size());
+        assertEquals("Payroll", read.get(0).getProject());
+        assertEquals(7.5, read.get(0).getHours());
+        assertEquals(LocalDate.of(2025, 3, 4), read.get(0).getDate());
+    }
+
+    @Test
+    void missingOrMalformedColumnsReadAsMutableEmptyLists() {
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS000002");
+        ts.setWorkingHours("[{\"date\": ");
+        ts.setNonWorkingHours(null);
+
+        List<TimesheetEntry> working = codec.readWorking(ts);
+        assertTrue(working.isEmpty());
+        working.add(new TimesheetEntry());
+        assertTrue(codec.readNonWorking(ts).isEmpty());
+        assertEquals("[]", codec.write(null));
+    }
+
+    @Test
+    void streamedHoursSkipUnknownFieldsAndUndatedEntries() {
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS000003");
+        ts.setWeekStartDate(LocalDate.of(2025, 3, 3));
+        ts.setWeekEndDate(LocalDate.of(2025, 3, 7));
+        ts.setWorkingHours("[{\"project\":\"A\",\"hours\":8.0,\"description\":null,\"date\":\"2025-02-28\"},"
+                + "{\"project\":\"A\",\"hours\":8.0,\"description\":\"x\",\"date\":\"2025-03-03\"},"
+                + "{\"tags\":[1,{\"a\":2}],\"hours\":4.5,\"date\":\"2025-03-04\"},"
+                + "{\"project\":\"A\",\"hours\":null,\"date\":\"2025-03-05\"},"
+                + "{\"project\":\"A\",\"hours\":6,\"date\":null},"
+                + "null]");
+
+        WeekHours hours = codec.readHours(ts);
+
+        assertEquals(12.5, hours.workingHours(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)));
+        assertEquals(20.5, hours.totalWorkingHours());
+        assertEquals(LocalDate.of(2025, 3, 5), hours.getLastEntryDate());
+    }
+
+    @Test
+    void malformedColumnsContributeNoHours() {
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS000004");
+        ts.setWeekStartDate(LocalDate.of(2025, 3, 3));
+        ts.setWeekEndDate(LocalDate.of(2025, 3, 7));
+        ts.setWorkingHours("[{\"hours\":8,\"date\":\"2025-03-03\"},{\"hours\":8,");
+        ts.setNonWorkingHours("[{\"hours\":8,\"date\":\"03/04/2025\"}]");
+
+        WeekHours hours = codec.readHours(ts);
+
+        assertEquals(0.0, hours.totalWorkingHours());
+        assertEquals(0.0, hours.totalLeaveHours());
+    }
+
+    @Test
+    void streamedWeekHoursMatchDeserializedEntries() {
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS000005");
+        ts.setWeekStartDate(LocalDate.of(2024, 2, 26));
+        ts.setWeekEndDate(LocalDate.of(2024, 3, 1));
+        ts.setWorkingHours("[{\"hours\":7.5,\"date\":\"2024-02-26\"},{\"hours\":8,\"date\":\"2024-02-29\"},"
+                + "{\"hours\":3,\"date\":\"2024-03-01\"}]");
+        ts.setNonWorkingHours("[{\"hours\":8.0,\"date\":\"2024-02-27\"},{\"hours\":8,\"date\":\"2024-02-30\"}]");
+
+        WeekHours streamed = codec.readHours(ts);
+        WeekHours expected = WeekHours.of(ts.getWeekStartDate(), ts.getWeekEndDate(), codec.readWorking(ts), List.of());
+
+        assertEquals(expected.totalWorkingHours(), streamed.totalWorkingHours());
+        assertEquals(8.0, streamed.workingHoursOn(LocalDate.of(2024, 2, 29)));
+        assertEquals(3.0, streamed.workingHours(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+        // 2024-02-30 is not a date: the leave column is malformed and contributes nothing
+        assertEquals(0.0, streamed.totalLeaveHours());
+    }
+
+    @Test
+    void binaryColumnsReadBackLosslesslyAndSmaller() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        List<TimesheetEntry> entries = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            TimesheetEntry entry = new TimesheetEntry();
+            entry.setProject(day < 4 ? "Payroll migration" : null);
+            entry.setHours(day == 2 ? 7.33 : 8.0);
+            entry.setDescription(day == 1 ? "Écritures & reviews" : null);
+            entry.setDate(monday.plusDays(day));
+            entries.add(entry);
+        }
+        TimesheetEntry undated = new TimesheetEntry();
+        undated.setHours(null);
+        entries.add(undated);
+
+        TimesheetEntryCodec binaryCodec = new TimesheetEntryCodec(new ObjectMapper().registerModule(new JavaTimeModule()), "binary");
+        String binary = binaryCodec.write(entries, monday);
+        String json = codec.write(entries, monday);
+        assertTrue(binary.startsWith("b1:"));
+        assertTrue(binary.length() < json.length() / 2, binary.length() + " vs " + json.length());
+
+        // Either codec reads either format
+        List<TimesheetEntry> read = codec.read(binary, "TS000006", "workingHours");
+        assertEquals(codec.write(entries), codec.write(read));
+
+        Timesheet ts = new Timesheet();
+        ts.setTimesheetId("TS000006");
+        ts.setWeekStartDate(monday);
+        ts.setWeekEndDate(monday.plusDays(4));
+        ts.setWorkingHours(binary);
+        ts.setNonWorkingHours(json);
+        assertEquals(39.33, codec.readHours(ts).totalWorkingHours(), 0.01);
+        assertEquals(39.33, codec.readHours(ts).totalLeaveHours(), 0.01);
+        assertEquals(16.0, codec.readHours(ts).workingHours(monday, monday.plusDays(1)));
+
+        assertEquals(json, codec.convert(binary, monday, "json", "TS000006", "workingHours"));
+        assertNull(codec.convert(binary, monday, "binary", "TS000006", "workingHours"));
+        assertNull(codec.convert("[{", monday, "binary", "TS000006", "workingHours"));
+        assertTrue(codec.read("b1:AQ", "TS000006", "workingHours").isEmpty());
+    }
+}